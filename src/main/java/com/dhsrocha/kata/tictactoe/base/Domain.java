@@ -120,10 +120,23 @@ public abstract class Domain extends AbstractPersistable<Long> {
     return super.isNew();
   }
 
+  /**
+   * Generates a value for {@link #externalId} ahead of persisting, for an instance handed out
+   * before it is written. The value is kept as it is persisted.
+   *
+   * @return The instance's external identification.
+   */
+  public final UUID identify() {
+    if (null == externalId) {
+      externalId = UUID.randomUUID();
+    }
+    return externalId;
+  }
+
   /** Generates values for {@link #externalId} and {@link #createdAt}. */
   @SuppressWarnings("unused")
   @PrePersist
   final void prePersist() {
-    externalId = UUID.randomUUID();
+    identify();
   }
 }
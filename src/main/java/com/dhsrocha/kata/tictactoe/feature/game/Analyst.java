@@ -0,0 +1,158 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.PerfectPlay;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Analyses {@link Type#TIC_TAC_TOE} positions under perfect play, for clients to coach players.
+ *
+ * <p>A position's value and best tiles are taken from the bot's {@link PerfectPlay} once per {@link
+ * Bitboard.Symmetry canonical} position, and then served from a bounded, direct-mapped cache. Each
+ * entry is a single {@code long} holding the canonical position and its answers, so concurrent
+ * requests read and replace entries with no lock nor torn read. Cache hits and misses are counted
+ * by the {@value #METER} meter.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Component
+class Analyst {
+
+  /** Meter counting the cache's hits and misses, tagged by {@code result}. */
+  static final String METER = "game.analysis.cache";
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+  /** Covers all tiles on a side. */
+  private static final int SIDE = (1 << TILES) - 1;
+  /** Offset of a cached value, so it is never negative. */
+  private static final int STORED = 64;
+  /** Offset of a cached entry's position, after its best tiles and value. */
+  private static final int KEY = 32;
+  /** Spreads canonical positions over the cache. */
+  private static final long SPREAD = 0x9E37_79B9_7F4A_7C15L;
+
+  private final PerfectPlay solver;
+  private final long[] entries;
+  private final int shift;
+  private final Counter hits;
+  private final Counter misses;
+
+  @Autowired
+  Analyst(
+      @NonNull final Bot bot,
+      final @Value("${game.engine.analysis.cache-bits:12}") int cacheBits,
+      @NonNull final MeterRegistry registry) {
+    this(bot.perfectPlay(), cacheBits, registry);
+  }
+
+  /**
+   * Builds the analyst with an empty cache.
+   *
+   * @param solver Answers positions under perfect play.
+   * @param cacheBits Entries of the cache, as a power of two.
+   * @param registry Registers the cache's meters.
+   */
+  Analyst(
+      @NonNull final PerfectPlay solver,
+      final int cacheBits,
+      @NonNull final MeterRegistry registry) {
+    if (cacheBits < 1 || cacheBits > 20) {
+      throw new IllegalArgumentException("Unsupported cache size: " + cacheBits);
+    }
+    this.solver = solver;
+    entries = new long[1 << cacheBits];
+    shift = Long.SIZE - cacheBits;
+    hits = counter(registry, "hit");
+    misses = counter(registry, "miss");
+  }
+
+  /**
+   * Analyses a position, with home moving first.
+   *
+   * @param board The position, in bitboard notation:
+   *     <ul>
+   *       <li>Must be within a {@link Type#TIC_TAC_TOE} board.
+   *       <li>Must not have both sides on the same tile.
+   *       <li>Must have as many home pieces as away ones, or one more, as home moves first.
+   *     </ul>
+   *
+   * @return The position's result under perfect play, the tiles the side to move keeps it through
+   *     and the plies left until the game ends.
+   */
+  @NonNull
+  GameService.Analysis analyse(@NonNull final Bitboard board) {
+    ExceptionCode.BITBOARD_EXCESSIVE_BITS.unless(board.length() <= 2 * TILES);
+    Type.TIC_TAC_TOE.validate(board, board).ifPresent(ExceptionCode::trigger);
+    final var state = board.getState();
+    final var away = (int) state & SIDE;
+    final var home = (int) (state >>> TILES) & SIDE;
+    final var lead = Integer.bitCount(home) - Integer.bitCount(away);
+    // Out of legal play otherwise, and so out of the positions the solver holds.
+    ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND.unless(lead == 0 || lead == 1);
+    final var homeMoves = lead == 0;
+    final var mover = homeMoves ? home : away;
+    final var opponent = homeMoves ? away : home;
+    final var free = TILES - Integer.bitCount(mover | opponent);
+    if (Type.WINS.test(home) || Type.WINS.test(away) || free == 0) {
+      final var over =
+          Type.WINS.test(home) ? Result.HOME : Type.WINS.test(away) ? Result.AWAY : Result.TIE;
+      return new GameService.Analysis(over, List.of(), 0);
+    }
+    final var position = mover | (long) opponent << TILES;
+    final var symmetry = Bitboard.Symmetry.of(position);
+    final var entry = entryOf(symmetry.apply(position));
+    final var inverse = symmetry.inverse();
+    var tiles = 0;
+    for (var canonical = (int) entry & SIDE; canonical != 0; canonical &= canonical - 1) {
+      tiles |= 1 << inverse.tile(Integer.numberOfTrailingZeros(canonical));
+    }
+    final var best = new ArrayList<Integer>(Integer.bitCount(tiles));
+    for (; tiles != 0; tiles &= tiles - 1) {
+      best.add(Integer.numberOfTrailingZeros(tiles));
+    }
+    final var value = (int) (entry >>> TILES & 0xFF) - STORED;
+    final var result = value == 0 ? Result.TIE : value > 0 == homeMoves ? Result.HOME : Result.AWAY;
+    return new GameService.Analysis(result, best, value == 0 ? free : free - Math.abs(value) + 1);
+  }
+
+  /** Retrieves a canonical position's cached entry, answering it on a miss. */
+  private long entryOf(final long canonical) {
+    final var index = (int) (canonical * SPREAD >>> shift);
+    final var cached = entries[index];
+    if (cached >>> KEY == canonical + 1) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    final var mover = (int) canonical & SIDE;
+    final var opponent = (int) (canonical >>> TILES) & SIDE;
+    final var value = solver.valueOf(mover, opponent);
+    var best = 0;
+    for (var free = ~(mover | opponent) & SIDE; free != 0; free &= free - 1) {
+      final var tile = Integer.numberOfTrailingZeros(free);
+      if (-solver.valueOf(opponent, mover | 1 << tile) == value) {
+        best |= 1 << tile;
+      }
+    }
+    final var entry = (canonical + 1) << KEY | (long) (value + STORED) << TILES | best;
+    entries[index] = entry;
+    return entry;
+  }
+
+  /** Registers one of the cache's counters. */
+  private static Counter counter(@NonNull final MeterRegistry registry, final String result) {
+    return Counter.builder(METER)
+        .description("Position analyses served from the cache or answered on a miss.")
+        .tag("result", result)
+        .register(registry);
+  }
+}
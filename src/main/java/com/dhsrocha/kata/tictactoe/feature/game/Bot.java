@@ -0,0 +1,200 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.PerfectPlay;
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Solver;
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Tablebase;
+import com.dhsrocha.kata.tictactoe.feature.player.Player;
+import com.dhsrocha.kata.tictactoe.feature.player.PlayerService;
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link Player} which joins games as the away side and answers each {@link Turn} on its own.
+ *
+ * <p>{@link Type#TIC_TAC_TOE} is answered with a perfect-play move, from a {@link Solver} solved
+ * once at startup, or from a {@link Tablebase} file mapped in memory if one is configured, written
+ * on the first start. Types too large to be solved, but {@link Type#searchable() searchable}, are
+ * answered by a {@link Search} within a time budget, on its own bounded pool of threads, with no
+ * request thread waiting for it.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Slf4j
+@Component
+class Bot {
+
+  /** Bot's unique username. */
+  static final String USERNAME = "tic_tac_toe_bot";
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+  /** Covers all tiles on a side. */
+  private static final int SIDE = (1 << TILES) - 1;
+
+  private final PlayerService playerService;
+  private final PerfectPlay solver;
+  private final Search search;
+  private final Duration budget;
+  /** Bot's {@link Player} identification, once registered. */
+  private volatile UUID playerId;
+
+  Bot(
+      @NonNull final PlayerService playerService,
+      final @Value("${game.engine.search.parallelism:0}") int parallelism,
+      final @Value("${game.engine.search.table-bits:18}") int tableBits,
+      final @Value("${game.engine.search.budget:200ms}") Duration budget,
+      final @Value("${game.engine.tablebase.path:}") String tablebase) {
+    this.playerService = playerService;
+    this.budget = budget;
+    final var start = System.nanoTime();
+    solver =
+        tablebase.isBlank()
+            ? new Solver(Type.WINS)
+            : Tablebase.open(Path.of(tablebase), () -> new Solver(Type.WINS));
+    final var elapsed = (System.nanoTime() - start) / 1_000_000;
+    log.info(
+        "{} for {} ready in {} ms: {} positions.",
+        solver.getClass().getSimpleName(),
+        Type.TIC_TAC_TOE,
+        elapsed,
+        solver.size());
+    search = new Search(parallelism, tableBits);
+  }
+
+  /** Stops the search's threads. */
+  @PreDestroy
+  void close() {
+    search.close();
+  }
+
+  /**
+   * Checks if the bot can play a {@link Type}.
+   *
+   * @param type The game's type.
+   * @return If the bot answers its turns.
+   */
+  boolean plays(@NonNull final Type type) {
+    return Type.TIC_TAC_TOE == type || type.searchable().isPresent();
+  }
+
+  /**
+   * Retrieves the bot's perfect-play answers for {@link Type#TIC_TAC_TOE}.
+   *
+   * @return The solver or tablebase the bot plays with.
+   */
+  @NonNull
+  PerfectPlay perfectPlay() {
+    return solver;
+  }
+
+  /**
+   * Retrieves the bot's {@link Player} identification, registering it once, on first use.
+   *
+   * @return The bot's player's external identification.
+   */
+  @NonNull
+  UUID playerId() {
+    var id = playerId;
+    if (null == id) {
+      synchronized (this) {
+        id = playerId;
+        if (null == id) {
+          id = playerService.register(newPlayer()).getExternalId();
+          playerId = id;
+        }
+      }
+    }
+    return id;
+  }
+
+  /**
+   * Answers a {@link Turn} on behalf of the bot, if it is the provided one's opponent.
+   *
+   * @param turn The {@link Turn} to answer, already accepted for its {@link Game}.
+   * @return The bot's answer, or empty if the bot is not in the game, the turn is its own or there
+   *     is no move left. Already completed unless it is searched.
+   */
+  @NonNull
+  CompletableFuture<Optional<Turn>> replyTo(@NonNull final Turn turn) {
+    final var game = turn.getGame();
+    if (!plays(game.getType()) || !isIn(game) || turn.getPlayer() == game.getAway()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final var board =
+        Type.TIC_TAC_TOE == game.getType()
+            ? CompletableFuture.completedFuture(solve(turn.getState()))
+            : search(game.getType(), turn);
+    return board.thenApply(
+        opt ->
+            opt.map(
+                b ->
+                    Turn.builder()
+                        .last(turn)
+                        .seq(turn.getSeq() + 1)
+                        .state(b)
+                        .game(game)
+                        .player(game.getAway())
+                        .build()));
+  }
+
+  /** Places the bot's piece on a {@link Type#TIC_TAC_TOE} board by its perfect-play move. */
+  private Optional<Bitboard> solve(@NonNull final Bitboard current) {
+    final var state = current.getState();
+    final var tile = solver.bestMove((int) state & SIDE, (int) (state >>> TILES) & SIDE);
+    return tile < 0 ? Optional.empty() : Optional.of(Bitboard.of(state | 1L << tile));
+  }
+
+  /** Places the bot's piece on a searchable {@link Type}'s board by the best move found in time. */
+  private CompletableFuture<Optional<Bitboard>> search(
+      @NonNull final Type type, @NonNull final Turn turn) {
+    final var rules = type.searchable().orElseThrow();
+    final var current = turn.getState();
+    final var words = new long[Math.max(current.words(), (2 * rules.getTiles() + 63) / 64)];
+    for (var index = 0; index < words.length; index++) {
+      words[index] = current.word(index);
+    }
+    return search
+        .bestMove(rules, type.zobrist(), words, turn.getHash(), 0, budget)
+        .thenApply(
+            tile -> {
+              if (tile < 0) {
+                return Optional.empty();
+              }
+              words[tile >>> 6] |= 1L << tile;
+              return Optional.of(Bitboard.of(words[0], Arrays.copyOfRange(words, 1, words.length)));
+            });
+  }
+
+  /**
+   * Builds the bot's {@link Player} to be registered, a fresh instance on each call, so no entity
+   * is shared across persistence contexts.
+   */
+  private static Player newPlayer() {
+    return Player.builder()
+        .active(Boolean.TRUE)
+        .username(USERNAME)
+        .gender(Player.Gender.FEMALE)
+        .email(USERNAME + "@tictactoe.kata")
+        .firstName("Tic")
+        .lastName("Bot")
+        .birthDate(OffsetDateTime.parse("2022-07-01T00:00:00Z"))
+        .build();
+  }
+
+  /** Checks if the bot is the away side of a {@link Game}. */
+  private static boolean isIn(@NonNull final Game game) {
+    return null != game.getAway() && USERNAME.equals(game.getAway().getUsername());
+  }
+}
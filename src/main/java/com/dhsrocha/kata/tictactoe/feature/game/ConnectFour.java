@@ -0,0 +1,175 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Rule set for Connect Four: two sides take turns dropping a piece in one of the 7 columns of a 6
+ * rows high vertical board, and the first to get 4 of them in a row, in any direction, wins.
+ *
+ * <p>Each side is laid out column by column, from the bottom up, with an extra sentinel row on top
+ * which is always empty, so a column spans 7 bits and a side {@value #TILES}. Away's side comes
+ * first and home's right after, across the first two {@link Bitboard} words:
+ *
+ * <pre>
+ *   6 13 20 27 34 41 48  (sentinel)
+ *   5 12 19 26 33 40 47
+ *   4 11 18 25 32 39 46
+ *   3 10 17 24 31 38 45
+ *   2  9 16 23 30 37 44
+ *   1  8 15 22 29 36 43
+ *   0  7 14 21 28 35 42
+ * </pre>
+ *
+ * <p>Since pieces stack up from the bottom, adding the bottom row to the occupied tiles carries
+ * each column up to its height, the first free tile, which then must not be occupied. The sentinel
+ * row also keeps lines from wrapping between columns, so each direction is checked by a pair of
+ * shifts and ANDs.
+ *
+ * <p>It is also playable by a {@link Search}, which only searches each column's height and weighs
+ * each tile by the lines of 4 passing through it.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://github.com/denkspuren/BitboardC4/blob/master/BitboardDesign.md">Technical
+ *     reference</a>
+ */
+final class ConnectFour implements Type.Rule, Search.Rules {
+
+  /** Bits in a column, including its sentinel. */
+  private static final int HEIGHT = 7;
+  /** Tiles on a side, including the sentinel row. */
+  private static final int TILES = HEIGHT * 7;
+  /** Tiles which can hold a piece. */
+  private static final int PLAYABLE = TILES - 7;
+  /** Covers all tiles on a side. */
+  private static final long SIDE = (1L << TILES) - 1;
+  /** Lowest tile of each column. */
+  private static final long BOTTOM = SIDE / ((1L << HEIGHT) - 1);
+  /** Sentinel tile of each column. */
+  private static final long TOP = BOTTOM << HEIGHT - 1;
+  /** Shift of each direction: vertical, horizontal and both diagonals. */
+  private static final int[] SHIFTS = {1, HEIGHT, HEIGHT - 1, HEIGHT + 1};
+  /** Number of lines of 4 passing through each tile, indexed by the tile. */
+  private static final int[] WEIGHTS = weights();
+
+  @Override
+  public int getTiles() {
+    return TILES;
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    if (Math.abs(current.bitCount() - last.bitCount()) > 1) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    final var away = current.bits(0, TILES);
+    final var home = current.bits(TILES, TILES);
+    final var all = away | home;
+    if (current.length() > 2 * TILES || (all & TOP) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    if ((away & home) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
+    }
+    if ((all + BOTTOM & all) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_FLOATING_PIECE);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed state) {
+    if (hasLine(state.bits(TILES, TILES))) {
+      return Result.HOME;
+    }
+    if (hasLine(state.bits(0, TILES))) {
+      return Result.AWAY;
+    }
+    return state.bitCount() == PLAYABLE ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+    final var away = state.bits(0, TILES);
+    final var home = state.bits(TILES, TILES);
+    final var awayPlaced = away & ~last.bits(0, TILES);
+    final var homePlaced = home & ~last.bits(TILES, TILES);
+    if (Long.bitCount(awayPlaced) + Long.bitCount(homePlaced) != 1) {
+      return resultOf(state);
+    }
+    if (awayPlaced != 0 ? hasLine(away) : hasLine(home)) {
+      return awayPlaced != 0 ? Result.AWAY : Result.HOME;
+    }
+    return state.bitCount() == PLAYABLE ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public boolean isCandidate(@NonNull final long[] board, final int tile) {
+    final var all = Search.bits(board, 0, TILES) | Search.bits(board, TILES, TILES);
+    return (all + BOTTOM & ~TOP & 1L << tile) != 0;
+  }
+
+  @Override
+  public boolean isWin(@NonNull final long[] board, final int bit) {
+    return hasLine(Search.bits(board, bit < TILES ? 0 : TILES, TILES));
+  }
+
+  @Override
+  public int evaluate(@NonNull final long[] board, final int side) {
+    var score = 0;
+    for (var own = Search.bits(board, side * TILES, TILES); own != 0; own &= own - 1) {
+      score += WEIGHTS[Long.numberOfTrailingZeros(own)];
+    }
+    final var opponent = (1 - side) * TILES;
+    for (var other = Search.bits(board, opponent, TILES); other != 0; other &= other - 1) {
+      score -= WEIGHTS[Long.numberOfTrailingZeros(other)];
+    }
+    return score;
+  }
+
+  /**
+   * Checks if a side holds 4 pieces in a row, in any direction.
+   *
+   * @param side The side's tiles, right-aligned.
+   * @return If any line is filled up.
+   */
+  private static boolean hasLine(final long side) {
+    for (final var shift : SHIFTS) {
+      final var pairs = side & side >>> shift;
+      if ((pairs & pairs >>> 2 * shift) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Counts the lines of 4 passing through each tile, by column and row. */
+  private static int[] weights() {
+    final var columnSteps = new int[] {0, 1, 1, 1};
+    final var rowSteps = new int[] {1, 0, 1, -1};
+    final var weights = new int[TILES];
+    for (var tile = 0; tile < TILES; tile++) {
+      for (var d = 0; d < columnSteps.length && tile % HEIGHT < HEIGHT - 1; d++) {
+        for (var back = 0; back < 4; back++) {
+          final var column = tile / HEIGHT - back * columnSteps[d];
+          final var row = tile % HEIGHT - back * rowSteps[d];
+          final var toColumn = column + 3 * columnSteps[d];
+          final var toRow = row + 3 * rowSteps[d];
+          if (isPlayable(column, row) && isPlayable(toColumn, toRow)) {
+            weights[tile]++;
+          }
+        }
+      }
+    }
+    return weights;
+  }
+
+  private static boolean isPlayable(final int column, final int row) {
+    return column >= 0 && column < 7 && row >= 0 && row < HEIGHT - 1;
+  }
+}
@@ -11,6 +11,7 @@ import java.util.Comparator;
 import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -74,6 +75,24 @@ public class Game extends Domain implements Comparable<Game> {
   @Schema(description = "Game's winner. Null until finish it to determine which Player has won.")
   @ManyToOne
   private Player winner;
+  /** Pieces placed so far, in order, packed by {@link MoveLog}. Kept for tic-tac-toe only. */
+  @Schema(description = "Pieces placed so far, in order, packed in 5-bit slots of bit index + 1.")
+  private long moves;
+  /** Board on the last {@link Turn}, so a move reads it with no {@link Turn} loaded. */
+  @Schema(description = "Board on the last Turn, in bitboard notation.")
+  @Embedded
+  @Builder.Default
+  private @NonNull @NotNull Bitboard board = Bitboard.of(0);
+  /** Zobrist hash of {@link #board}, under the {@link #type}'s keys. */
+  @Schema(description = "Zobrist hash of the board on the last Turn, under the game type's keys.")
+  private long hash;
+  /** {@link Turn#getSeq() Order} of the last {@link Turn}. Zero until the first one. */
+  @Schema(description = "Order of the last Turn. Zero until the first one.")
+  private int lastSeq;
+  /** {@link Player} who did the last {@link Turn}. Null until the first one. */
+  @Schema(description = "Player who did the last Turn. Null until the first one.")
+  @ManyToOne
+  private Player lastMover;
   /** Actions occurred in the current game. */
   @Schema(description = "Actions occurred in the current game.")
   @OneToMany(cascade = CascadeType.ALL)
@@ -138,6 +157,26 @@ public class Game extends Domain implements Comparable<Game> {
     return this;
   }
 
+  /**
+   * Keeps a {@link Turn}'s board, hash, order and player as the game's last ones, and logs the
+   * pieces placed on it, so the whole history is kept after its {@link Turn} entities are removed.
+   * Only {@link Type#TIC_TAC_TOE} boards fit in the log, so other types are left with an empty one.
+   *
+   * @param last Board on the last {@link Turn}.
+   * @param current The current {@link Turn}, already validated and hashed.
+   * @return The invoking instance.
+   */
+  final @NonNull Game played(@NonNull final Bitboard last, @NonNull final Turn current) {
+    if (Type.TIC_TAC_TOE == type) {
+      setMoves(MoveLog.append(moves, last.getState(), current.getState().getState()));
+    }
+    setBoard(current.getState());
+    setHash(current.getHash());
+    setLastSeq(current.getSeq());
+    setLastMover(current.getPlayer());
+    return this;
+  }
+
   /**
    * Represents a game's life-cycle.
    *
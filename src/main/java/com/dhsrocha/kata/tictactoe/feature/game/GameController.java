@@ -2,6 +2,8 @@ package com.dhsrocha.kata.tictactoe.feature.game;
 
 import com.dhsrocha.kata.tictactoe.base.BaseController;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,6 +20,7 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
@@ -45,10 +49,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class GameController extends BaseController<GameService.Search, Game> {
 
   static final String JOIN = '{' + Game.ID + '}' + "/join";
+  static final String BOT = '{' + Game.ID + '}' + "/bot";
   static final String SURRENDER = '{' + Game.ID + '}' + "/surrender";
+  static final String REPLAY = '{' + Game.ID + '}' + "/replay";
+  static final String ANALYSIS = "analysis";
 
   private final PagedResourcesAssembler<Game> assembler;
   private final GameService service;
+  private final ObjectMapper mapper;
 
   /**
    * Retrieves a page of Game resources, based on search criteria.
@@ -82,6 +90,60 @@ class GameController extends BaseController<GameService.Search, Game> {
     return hateoasOf(gameId, service.find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND));
   }
 
+  /**
+   * Replays a Game's positions, rebuilt from its packed log of moves, as newline-delimited JSON.
+   *
+   * @param gameId Game's external identification:
+   *     <ul>
+   *       <li>Must belong to an existing record.
+   *     </ul>
+   *
+   * @return Stream of positions, one per line, from the first piece placed to the last one.
+   */
+  @ApiResponse(responseCode = "200", description = "Game's positions are streamed.")
+  @ApiResponse(responseCode = "404", description = "Game not found.", content = @Content)
+  @GetMapping(REPLAY)
+  ResponseEntity<StreamingResponseBody> replay(@PathVariable(Game.ID) final UUID gameId) {
+    final var positions = service.replay(gameId).iterator();
+    final var writer = mapper.writerFor(GameService.Position.class);
+    final StreamingResponseBody body =
+        out -> {
+          while (positions.hasNext()) {
+            out.write(writer.writeValueAsBytes(positions.next()));
+            out.write('\n');
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Analyses a position under perfect play from both sides, with home moving first. Answers are
+   * cached by the position's canonical orientation, so repeated calls cost a lookup.
+   *
+   * @param type Type of the position's game:
+   *     <ul>
+   *       <li>Must have a perfect-play analysis.
+   *     </ul>
+   *
+   * @param state The position, in bitboard notation:
+   *     <ul>
+   *       <li>Must be within the type's board.
+   *       <li>Must not have both sides on the same tile.
+   *     </ul>
+   *
+   * @return The result the game ends with, the side to move's best tiles and the plies left.
+   */
+  @ApiResponse(responseCode = "200", description = "Position is analysed.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "400",
+      description = "Type has no analysis or the position is not valid.")
+  @GetMapping(ANALYSIS)
+  ResponseEntity<GameService.Analysis> analyse(
+      @RequestParam final Type type, @RequestParam final long state) {
+    return ResponseEntity.ok(service.analyse(type, Bitboard.of(state)));
+  }
+
   /**
    * Opens a Game, by creating it as a resource and adds the requesting Player as the home one.
    *
@@ -162,6 +224,47 @@ class GameController extends BaseController<GameService.Search, Game> {
     service.join(gameId, UUID.fromString(auth.getName()));
   }
 
+  /**
+   * Joins the bot Player to an awaiting Game, as the requester's opponent, and sets it to the next
+   * stage.
+   *
+   * @param auth Requesting Player's external identification:
+   *     <ul>
+   *       <li>Must belong to an existing player.
+   *       <li>Must be the sending game's home one.
+   *     </ul>
+   *
+   * @param gameId Game's external identification:
+   *     <ul>
+   *       <li>Must belong to an existing record.
+   *       <li>Must be in the awaiting stage.
+   *       <li>Must be of a type the bot plays.
+   *     </ul>
+   */
+  @ApiResponse(
+      content = @Content,
+      responseCode = "204",
+      description = "Bot joined to the sending game.")
+  @ApiResponse(content = @Content, responseCode = "404", description = "Game not found.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "409",
+      description = "Game is not in awaiting stage.")
+  @ApiResponse(content = @Content, responseCode = "409", description = "Game's type has no bot.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "404",
+      description = "Requesting player is not found.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "409",
+      description = "Requesting player is not the sending game's home one.")
+  @PutMapping(BOT)
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  void invite(final Authentication auth, @PathVariable(Game.ID) final UUID gameId) {
+    service.invite(gameId, UUID.fromString(auth.getName()));
+  }
+
   /**
    * Requesting Player gives up the sending Game and sets the opponent as winner.
    *
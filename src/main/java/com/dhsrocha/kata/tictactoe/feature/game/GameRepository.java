@@ -1,7 +1,16 @@
 package com.dhsrocha.kata.tictactoe.feature.game;
 
 import com.dhsrocha.kata.tictactoe.base.BaseRepository;
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
+import java.util.Optional;
+import java.util.UUID;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Handles {@link Game}'s entities in the persistence layer.
@@ -10,4 +19,31 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-interface GameRepository extends BaseRepository<Game> {}
+interface GameRepository extends BaseRepository<Game> {
+
+  /**
+   * Retrieves a {@link Game} along with all its players in a single query, so none of them is
+   * loaded on its own afterwards. Its row is locked until the transaction ends, so moves on the
+   * same {@link Game} are applied one at a time, including the ones ending it with no {@link Turn}
+   * written.
+   *
+   * @param id The {@link Game}'s external identification.
+   * @return The {@link Game}, or empty if there is none with the identification.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "select g from Game g join fetch g.home left join fetch g.away left join fetch g.winner"
+          + " left join fetch g.lastMover where g.externalId = :id")
+  Optional<Game> findToPlay(@Param("id") UUID id);
+
+  /**
+   * Removes every {@link Turn} of a {@link Game} in a single statement, with none of them loaded.
+   *
+   * @param game The {@link Game} whose turns are removed.
+   * @return Number of removed turns.
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from Turn t where t.game = :game")
+  int deleteTurnsOf(@Param("game") Game game);
+}
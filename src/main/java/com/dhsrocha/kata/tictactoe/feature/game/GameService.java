@@ -2,6 +2,7 @@ package com.dhsrocha.kata.tictactoe.feature.game;
 
 import static com.dhsrocha.kata.tictactoe.feature.game.Game.Stage.AWAITS;
 import static com.dhsrocha.kata.tictactoe.feature.game.Game.Stage.IN_PROGRESS;
+import static com.dhsrocha.kata.tictactoe.system.ExceptionCode.BITBOARD_TILE_UNAVAILABLE;
 import static com.dhsrocha.kata.tictactoe.system.ExceptionCode.PLAYER_NOT_IN_GAME;
 
 import com.dhsrocha.kata.tictactoe.base.BaseRepository;
@@ -15,17 +16,26 @@ import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NonNull;
+import lombok.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 /**
@@ -36,16 +46,48 @@ import org.springframework.validation.annotation.Validated;
 public abstract class GameService implements BaseService<Search, Game> {
 
   /**
-   * Process a {@link Game}'s {@link Result} according to corresponding provided {@link Bitboard}.
+   * Applies a {@link Turn} on a {@link Game} in progress, one at a time for the same {@link Game},
+   * processes its {@link Result} and removes its {@link Turn} entities once it has a winner.
    *
-   * @param turn from the current action performed by a {@link Player}:
+   * @param gameId {@link Game}'s external identification:
+   *     <ul>
+   *       <li>Must exist in an existing {@link Game}.
+   *       <li>Must be in the {@link Game.Stage#IN_PROGRESS}.
+   *     </ul>
+   *
+   * @param move Builds the {@link Turn} from the {@link Game}, along with its players and last
+   *     board:
+   *     <ul>
+   *       <li>{@link Turn#getSeq()} must follow the {@link Game}'s last one.
+   *       <li>{@link Turn#getLast()} must be set, unless it is the first one, already hashed.
+   *     </ul>
+   *
+   * @return The applied {@link Turn}, or empty if it has ended the {@link Game}.
+   */
+  public abstract @NonNull Optional<Turn> play(
+      @NonNull final UUID gameId, @NonNull final Function<Game, Turn> move);
+
+  /**
+   * Places a {@link Player}'s piece on a tile of a {@link Game}'s board, as it was on the last
+   * {@link Turn}.
+   *
+   * @param game {@link Game} the board belongs to.
+   * @param player {@link Player} to place the piece for, home or away in the {@link Game}.
+   * @param last Board's state on the last {@link Turn}, or an empty one for the first.
+   * @param tile Tile's index, within a side:
    *     <ul>
-   *       <li>{@link Turn#getGame()} must be in {@link Game.Stage#IN_PROGRESS}.
+   *       <li>Must be on the board.
+   *       <li>Must not be taken by any side.
    *     </ul>
    *
-   * @return Indicates if the instance's result corresponds to a {@link Game}'s end.
+   * @return The board with the piece placed, still to be validated by {@link #play(UUID,
+   *     Function)}.
    */
-  public abstract boolean calculate(@NonNull final Turn turn);
+  public abstract @NonNull Bitboard place(
+      @NonNull final Game game,
+      @NonNull final Player player,
+      @NonNull final Bitboard last,
+      final int tile);
 
   /**
    * Opens a {@link Game}, by creating it as a resource, and adds the requesting {@link Player} as
@@ -81,6 +123,66 @@ public abstract class GameService implements BaseService<Search, Game> {
    */
   abstract void join(@NonNull final UUID gameId, @NonNull final UUID requesterId);
 
+  /**
+   * Joins the bot {@link Player} to an awaiting game, as its away side, and sets it to the next
+   * stage.
+   *
+   * @param gameId {@link Game}'s external identification:
+   *     <ul>
+   *       <li>Must exist it existing {@link Game}.
+   *       <li>Must be in the {@link Game.Stage#AWAITS}.
+   *       <li>Must be of a {@link Type} the bot plays.
+   *     </ul>
+   *
+   * @param requesterId Requesting {@link Player}'s external identification:
+   *     <ul>
+   *       <li>Must belong to an existing {@link Player}.
+   *       <li>Must be the sending {@link Game}'s home one.
+   *     </ul>
+   */
+  abstract void invite(@NonNull final UUID gameId, @NonNull final UUID requesterId);
+
+  /**
+   * Answers a {@link Turn} on behalf of the bot {@link Player}, if it is in the turn's {@link
+   * Game}.
+   *
+   * @param turn Accepted {@link Turn} from the bot's opponent.
+   * @return The bot's {@link Turn}, not persisted nor calculated yet, or empty if there is none.
+   *     Already completed, unless the turn's {@link Type} is answered by a time-bounded search.
+   */
+  public abstract @NonNull CompletableFuture<Optional<Turn>> reply(@NonNull final Turn turn);
+
+  /**
+   * Replays a {@link Game}'s positions from its packed log of moves, with no {@link Turn} loaded.
+   *
+   * @param gameId {@link Game}'s external identification:
+   *     <ul>
+   *       <li>Must belong to an existing {@link Game}.
+   *     </ul>
+   *
+   * @return Each position, lazily and in order, from the first piece placed to the last one. Empty
+   *     for types whose moves are not logged.
+   */
+  abstract @NonNull Stream<Position> replay(@NonNull final UUID gameId);
+
+  /**
+   * Analyses a position under perfect play from both sides, with home moving first.
+   *
+   * @param type {@link Type} of the position's game:
+   *     <ul>
+   *       <li>Must be {@link Type#TIC_TAC_TOE}.
+   *     </ul>
+   *
+   * @param board The position:
+   *     <ul>
+   *       <li>Must be within the type's board.
+   *       <li>Must not have both sides on the same tile.
+   *     </ul>
+   *
+   * @return The position's analysis.
+   */
+  abstract @NonNull Analysis analyse(@NonNull final Type type, @NonNull final Bitboard board);
+
   /**
    * Closes an awaiting {@link Game}.
    *
@@ -122,9 +224,19 @@ public abstract class GameService implements BaseService<Search, Game> {
   @AllArgsConstructor
   private static class Impl extends GameService {
 
+    /** Board before the first {@link Turn}. */
+    private static final Bitboard EMPTY = Bitboard.of(0);
+    /** Results, indexed by their ordinal. */
+    private static final Result[] RESULTS = Result.values();
+
     private final PlayerService playerService;
-    private final BaseRepository<Game> gameRepository;
+    private final GameRepository gameRepository;
     private final BaseRepository<Turn> turnRepository;
+    private final TransactionTemplate transaction;
+    private final Optional<TransitionTable> transitionTable;
+    private final Optional<LiveGames> liveGames;
+    private final Bot bot;
+    private final Analyst analyst;
 
     @Override
     public @NonNull Page<Game> find(
@@ -159,14 +271,82 @@ public abstract class GameService implements BaseService<Search, Game> {
     }
 
     @Override
-    public boolean calculate(@NonNull final Turn turn) {
-      ExceptionCode.TURN_IS_THE_FIRST.unless(null != turn.getLast());
-      ExceptionCode.GAME_NOT_IN_PROGRESS.unless(turn.getGame().getStage() == IN_PROGRESS);
-      final var result = turn.getGame().getType().resultOf(turn.validState());
-      gameRepository.save(turn.getGame().with(result));
+    public @NonNull Optional<Turn> play(
+        @NonNull final UUID gameId, @NonNull final Function<Game, Turn> move) {
+      if (liveGames.isPresent()) {
+        final var live = liveGames.get();
+        return live.apply(
+            gameId,
+            game -> {
+              final var turn = move.apply(game);
+              final var won = settle(game, turn);
+              if (!won) {
+                live.append(turn);
+              }
+              if (IN_PROGRESS != game.getStage()) {
+                live.finish(game, won);
+              }
+              return won ? Optional.empty() : Optional.of(turn);
+            });
+      }
+      try {
+        return Objects.requireNonNull(
+            transaction.execute(
+                status -> {
+                  final var opt = gameRepository.findToPlay(gameId);
+                  final var game = opt.orElseThrow(ExceptionCode.GAME_NOT_FOUND);
+                  ExceptionCode.GAME_NOT_IN_PROGRESS.unless(game.getStage() == IN_PROGRESS);
+                  final var turn = move.apply(game);
+                  final var won = settle(game, turn);
+                  gameRepository.save(game);
+                  if (won) {
+                    gameRepository.deleteTurnsOf(game);
+                    return Optional.empty();
+                  }
+                  return Optional.of(turnRepository.save(turn));
+                }));
+      } catch (final DataIntegrityViolationException e) {
+        if (!Turn.isSeqTaken(e)) {
+          throw e;
+        }
+        throw ExceptionCode.TURN_ALREADY_PLAYED.get();
+      }
+    }
+
+    /**
+     * Keeps a {@link Turn} as its {@link Game}'s last one and updates the {@link Game} with its
+     * {@link Result}, in memory only.
+     *
+     * @return If the {@link Turn} has given the {@link Game} a winner.
+     */
+    private boolean settle(@NonNull final Game game, @NonNull final Turn turn) {
+      ExceptionCode.TURN_IS_THE_FIRST.unless(null != turn.getLast() || 0 == game.getLastSeq());
+      ExceptionCode.TURN_ALREADY_PLAYED.unless(turn.getSeq() == game.getLastSeq() + 1);
+      final var type = game.getType();
+      if (null == turn.getLast()) {
+        final var result = type.resultOf(EMPTY, turn.getState().processWith(EMPTY, type));
+        game.played(EMPTY, turn).with(result);
+        return result.isFinished();
+      }
+      final var table = transitionTable.filter(t -> Type.TIC_TAC_TOE == type);
+      final var result =
+          table.isPresent()
+              ? table.get().resultOf(turn.validState(table.get()))
+              : type.resultOf(turn.getLast().getState(), turn.validState());
+      game.played(turn.getLast().getState(), turn).with(result);
       return result.isFinished();
     }
 
+    @Override
+    public @NonNull Bitboard place(
+        @NonNull final Game game,
+        @NonNull final Player player,
+        @NonNull final Bitboard last,
+        final int tile) {
+      final var side = game.getHome().equals(player) ? 1 : 0;
+      return game.getType().place(last, side, tile).orElseThrow(BITBOARD_TILE_UNAVAILABLE);
+    }
+
     @Override
     void join(@NonNull final UUID gameId, @NonNull final UUID requesterId) {
       final var game = find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND);
@@ -184,8 +364,41 @@ public abstract class GameService implements BaseService<Search, Game> {
       gameRepository.save(game);
     }
 
+    @Override
+    void invite(@NonNull final UUID gameId, @NonNull final UUID requesterId) {
+      final var game = find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND);
+      ExceptionCode.GAME_NOT_IN_AWAITS.unless(game.getStage() == AWAITS);
+      ExceptionCode.GAME_WITHOUT_BOT.unless(bot.plays(game.getType()));
+
+      final var opt = playerService.find(requesterId);
+      final var player = opt.orElseThrow(ExceptionCode.PLAYER_NOT_FOUND);
+      PLAYER_NOT_IN_GAME.unless(game.getHome() == player);
+
+      final var botId = bot.playerId();
+      game.setAway(playerService.find(botId).orElseThrow(ExceptionCode.PLAYER_NOT_FOUND));
+      game.setStage(game.getStage().getNext());
+      gameRepository.save(game);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Optional<Turn>> reply(@NonNull final Turn turn) {
+      return bot.replyTo(turn);
+    }
+
     @Override
     void surrender(@NonNull final UUID gameId, @NonNull final UUID requesterId) {
+      if (liveGames.isPresent()) {
+        final var live = liveGames.get();
+        live.apply(
+            gameId,
+            game -> {
+              final var opt = playerService.find(requesterId);
+              final var player = opt.orElseThrow(ExceptionCode.PLAYER_NOT_FOUND);
+              live.finish(game.finish(sideOf(game, player), Boolean.TRUE), true);
+              return game;
+            });
+        return;
+      }
       final var game = find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND);
       ExceptionCode.GAME_NOT_IN_PROGRESS.unless(game.getStage() == IN_PROGRESS);
 
@@ -194,7 +407,40 @@ public abstract class GameService implements BaseService<Search, Game> {
       PLAYER_NOT_IN_GAME.unless(game.getHome() == player || game.getAway() == player);
 
       gameRepository.save(game.finish(player, Boolean.TRUE));
-      turnRepository.deleteAll(turnRepository.findAll(turnsFrom(game)).stream().toList());
+      gameRepository.deleteTurnsOf(game);
+    }
+
+    /** Picks a {@link Game}'s own instance of a {@link Player}, loaded apart from it. */
+    private static Player sideOf(@NonNull final Game game, @NonNull final Player player) {
+      if (player.getId().equals(game.getHome().getId())) {
+        return game.getHome();
+      }
+      if (null != game.getAway() && player.getId().equals(game.getAway().getId())) {
+        return game.getAway();
+      }
+      throw PLAYER_NOT_IN_GAME.get();
+    }
+
+    @Override
+    @NonNull
+    Stream<Position> replay(@NonNull final UUID gameId) {
+      final var game = find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND);
+      final var log = game.getMoves();
+      if (MoveLog.EMPTY == log) {
+        return Stream.empty();
+      }
+      final var states = MoveLog.states(log);
+      final var results = new byte[states.length];
+      game.getType().resultsOf(states, results);
+      return IntStream.range(0, states.length)
+          .mapToObj(i -> new Position(i + 1, Bitboard.of(states[i]), RESULTS[results[i]]));
+    }
+
+    @Override
+    @NonNull
+    Analysis analyse(@NonNull final Type type, @NonNull final Bitboard board) {
+      ExceptionCode.GAME_WITHOUT_ANALYSIS.unless(Type.TIC_TAC_TOE == type);
+      return analyst.analyse(board);
     }
 
     @Override
@@ -217,10 +463,38 @@ public abstract class GameService implements BaseService<Search, Game> {
                   cb.equal(r.get(Search.STAGE), AWAITS),
                   cb.equal(r.get(Search.STAGE), IN_PROGRESS)));
     }
+  }
 
-    private static Specification<Turn> turnsFrom(@NonNull final Game game) {
-      return (r, cq, cb) -> cb.equal(r.get(Search.GAME), game);
-    }
+  /**
+   * DTO of a replayed position.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @Value
+  public static class Position {
+
+    /** Pieces placed so far. */
+    int ply;
+    /** Board after the last piece placed. */
+    Bitboard board;
+    /** Board's result. */
+    Result result;
+  }
+
+  /**
+   * DTO of a position's analysis under perfect play from both sides.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @Value
+  public static class Analysis {
+
+    /** Result the game ends with, or {@link Result#TIE} for a draw. */
+    Result result;
+    /** Tiles the side to move keeps that result through, in ascending order. */
+    List<Integer> bestMoves;
+    /** Plies left until the game ends. */
+    int distance;
   }
 
   /**
@@ -234,7 +508,6 @@ public abstract class GameService implements BaseService<Search, Game> {
   @JsonInclude(JsonInclude.Include.NON_NULL)
   public static class Search {
 
-    private static final String GAME = "game";
     private static final String TYPE = "type";
     private static final String STAGE = "stage";
     private static final String HOME = "home";
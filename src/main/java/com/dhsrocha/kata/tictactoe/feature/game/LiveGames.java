@@ -0,0 +1,316 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static com.dhsrocha.kata.tictactoe.feature.game.Game.Stage.IN_PROGRESS;
+
+import com.dhsrocha.kata.tictactoe.base.BaseRepository;
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Engine mode which holds every {@link Game} in progress in memory, along with its players, last
+ * board and last mover, as the authoritative copy its moves are applied on.
+ *
+ * <p>A {@link Game} is loaded on its first move, replaying on it the {@link Turn} entities
+ * persisted after its row was last written, so it resumes where the last written batch left it
+ * after a restart. Moves on a {@link Game} are applied one at a time under its own lock, while
+ * moves on distinct ones run concurrently, and none of them waits on the database: their turns are
+ * queued and written behind, in a single transaction per batch. Once a {@link Game} ends, its row
+ * is written along with its own queued turns, or with all of them removed if it has a winner, and
+ * it is evicted, while the other games' turns are left to the next batch. A {@link Game} with no
+ * move for a while is evicted as well, once its turns are written, and loaded again on its next
+ * move. A turn which fails to be written is retried on every batch, keeping its {@link Game} in
+ * memory meanwhile, since dropping it would leave a gap in its written history.
+ *
+ * <p>Queued turns are lost if the process crashes before they are written, in which case a {@link
+ * Game} resumes from the last of its turns with no gap before it, and reads through the
+ * repositories see a {@link Game} in progress as of its last written batch.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "game.engine.live-games", name = "enabled")
+class LiveGames {
+
+  private static final String GAME = "game";
+  private static final String SEQ = "seq";
+
+  private final GameRepository gameRepository;
+  private final BaseRepository<Turn> turnRepository;
+  private final TransactionTemplate transaction;
+  /** Games in progress, by their external identification. */
+  private final Map<UUID, Live> games = new ConcurrentHashMap<>();
+  /** Turns accepted and not written yet. */
+  private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+  /** Time with no move after which a {@link Game} is evicted, in nanoseconds. */
+  private final long idle;
+
+  private final ScheduledExecutorService flusher;
+
+  LiveGames(
+      @NonNull final GameRepository gameRepository,
+      @NonNull final BaseRepository<Turn> turnRepository,
+      @NonNull final PlatformTransactionManager transactionManager,
+      final @Value("${game.engine.live-games.flush-interval:100ms}") Duration interval,
+      final @Value("${game.engine.live-games.idle-timeout:30m}") Duration idle) {
+    this.gameRepository = gameRepository;
+    this.turnRepository = turnRepository;
+    this.idle = idle.toNanos();
+    // Apart from the request's persistence context, so it never flushes the games kept here.
+    transaction = new TransactionTemplate(transactionManager);
+    transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              final var thread = new Thread(r, "live-games-flusher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    final var millis = Math.max(1, interval.toMillis());
+    flusher.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+    final var sweep = Math.max(1, idle.toMillis() / 2);
+    flusher.scheduleWithFixedDelay(this::evictIdle, sweep, sweep, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stops the flushing thread and writes the turns still queued. */
+  @PreDestroy
+  void close() {
+    flusher.shutdown();
+    flush();
+  }
+
+  /**
+   * Applies an action on a {@link Game} in progress, under its lock.
+   *
+   * @param gameId {@link Game}'s external identification:
+   *     <ul>
+   *       <li>Must exist in an existing {@link Game}.
+   *       <li>Must be in the in-progress stage.
+   *     </ul>
+   *
+   * @param action Action to apply on the {@link Game}'s authoritative copy.
+   * @param <T> Type of the action's outcome.
+   * @return The action's outcome.
+   */
+  <T> T apply(@NonNull final UUID gameId, @NonNull final Function<Game, T> action) {
+    while (true) {
+      final var live = liveOf(gameId);
+      synchronized (live.game) {
+        // Evicted while waiting for its lock, so it is looked up again.
+        if (games.get(gameId) != live) {
+          continue;
+        }
+        ExceptionCode.GAME_NOT_IN_PROGRESS.unless(IN_PROGRESS == live.game.getStage());
+        live.touched = System.nanoTime();
+        return action.apply(live.game);
+      }
+    }
+  }
+
+  /**
+   * Queues a {@link Turn} to be written on the next batch.
+   *
+   * @param turn {@link Turn} applied on its {@link Game}. Identified right away, so it can be
+   *     referred to before it is written.
+   */
+  void append(@NonNull final Turn turn) {
+    turn.identify();
+    pending.add(new Pending(turn, 0));
+  }
+
+  /**
+   * Writes an ended {@link Game} along with its own queued turns, and evicts it. Meant to be called
+   * from {@link #apply}. If writing fails, its turns are queued back and it is kept in memory, so
+   * the next batches still write them.
+   *
+   * @param game The ended {@link Game}.
+   * @param clear If its {@link Turn} entities are removed rather than written, once it has a
+   *     winner.
+   */
+  void finish(@NonNull final Game game, final boolean clear) {
+    final var own = new ArrayList<Pending>();
+    pending.removeIf(p -> p.turn.getGame() == game && own.add(p));
+    try {
+      transaction.executeWithoutResult(
+          status -> {
+            if (!clear) {
+              turnRepository.saveAll(own.stream().map(p -> p.turn).toList());
+            }
+            gameRepository.save(game);
+            if (clear) {
+              gameRepository.deleteTurnsOf(game);
+            }
+          });
+    } catch (final RuntimeException e) {
+      if (!clear) {
+        pending.addAll(own);
+      }
+      throw e;
+    }
+    games.computeIfPresent(game.getExternalId(), (id, live) -> live.game == game ? null : live);
+  }
+
+  /**
+   * Writes the queued turns in a single transaction. If it fails, each of them is written in a
+   * transaction of its own instead, so a failing one does not hold the others back. Turns of a
+   * {@link Game} given a winner while they were being written are removed afterwards, as {@link
+   * #finish} could not.
+   */
+  synchronized void flush() {
+    final var batch = new ArrayList<Pending>();
+    for (var queued = pending.poll(); null != queued; queued = pending.poll()) {
+      batch.add(queued);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    final var turns = batch.stream().map(p -> p.turn).toList();
+    try {
+      transaction.executeWithoutResult(status -> turnRepository.saveAll(turns));
+    } catch (final RuntimeException e) {
+      log.warn("Failed to write {} turns at once, writing them one by one.", batch.size(), e);
+      batch.forEach(this::write);
+    }
+    // Told apart by identity, as entities' equality reaches their lazy associations.
+    final var won = Collections.newSetFromMap(new IdentityHashMap<Game, Boolean>());
+    turns.stream().map(Turn::getGame).filter(LiveGames::won).forEach(won::add);
+    if (!won.isEmpty()) {
+      transaction.executeWithoutResult(status -> won.forEach(gameRepository::deleteTurnsOf));
+    }
+  }
+
+  /**
+   * Evicts the games with no move for longer than the idle timeout, once their turns are written.
+   * Holds the same lock as {@link #flush}, so a turn being written is never taken as written.
+   */
+  synchronized void evictIdle() {
+    final var now = System.nanoTime();
+    flush();
+    for (final var live : games.values()) {
+      if (now - live.touched < idle) {
+        continue;
+      }
+      synchronized (live.game) {
+        if (pending.stream().noneMatch(p -> p.turn.getGame() == live.game)) {
+          games.remove(live.game.getExternalId(), live);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes a single queued {@link Turn}. It is dropped if its sequence number is already written
+   * for its {@link Game}, since it can never be, and queued back for the next batch on any other
+   * failure, for as long as it takes.
+   */
+  private void write(@NonNull final Pending queued) {
+    final var turn = queued.turn;
+    try {
+      transaction.executeWithoutResult(status -> turnRepository.save(turn));
+    } catch (final RuntimeException e) {
+      final var gameId = turn.getGame().getExternalId();
+      if (e instanceof DataIntegrityViolationException violation && Turn.isSeqTaken(violation)) {
+        log.error("Dropped turn {} of game {}: already written.", turn.getSeq(), gameId, e);
+      } else {
+        final var attempts = queued.attempts + 1;
+        log.error(
+            "Failed to write turn {} of game {} {} times.", turn.getSeq(), gameId, attempts, e);
+        pending.add(new Pending(turn, attempts));
+      }
+    }
+  }
+
+  /** Tells if a {@link Game} is given a winner, under its lock. */
+  private static boolean won(@NonNull final Game game) {
+    synchronized (game) {
+      return null != game.getWinner();
+    }
+  }
+
+  /** Retrieves a {@link Game}'s entry, loading it with no lock held if it is not in memory yet. */
+  private Live liveOf(@NonNull final UUID gameId) {
+    final var live = games.get(gameId);
+    if (null != live) {
+      return live;
+    }
+    final var loaded = new Live(load(gameId));
+    final var raced = games.putIfAbsent(gameId, loaded);
+    return null == raced ? loaded : raced;
+  }
+
+  /** Loads a {@link Game} in progress, replaying the turns persisted after its row was written. */
+  private Game load(@NonNull final UUID gameId) {
+    return Objects.requireNonNull(
+        transaction.execute(
+            status -> {
+              final var opt = gameRepository.findToPlay(gameId);
+              final var game = opt.orElseThrow(ExceptionCode.GAME_NOT_FOUND);
+              ExceptionCode.GAME_NOT_IN_PROGRESS.unless(IN_PROGRESS == game.getStage());
+              final var persisted =
+                  turnRepository.findAll(
+                      (r, cq, cb) ->
+                          cb.and(
+                              cb.equal(r.get(GAME), game),
+                              cb.greaterThan(r.<Integer>get(SEQ), game.getLastSeq())),
+                      Sort.by(SEQ));
+              for (final var turn : persisted) {
+                if (turn.getSeq() != game.getLastSeq() + 1) {
+                  log.warn("Game {} has no turn {} written.", gameId, game.getLastSeq() + 1);
+                  break;
+                }
+                game.played(game.getBoard(), turn);
+              }
+              if (!persisted.isEmpty()) {
+                log.info("Game {} recovered up to turn {}.", gameId, game.getLastSeq());
+              }
+              return game;
+            }));
+  }
+
+  /** A {@link Game} kept in memory, locked on while moves are applied on it. */
+  private static final class Live {
+    private final Game game;
+    /** Last time a move was applied on it, as of {@link System#nanoTime()}. */
+    private volatile long touched = System.nanoTime();
+
+    private Live(@NonNull final Game game) {
+      this.game = game;
+    }
+  }
+
+  /** A queued {@link Turn}, along with the failed attempts to write it so far. */
+  private static final class Pending {
+    private final Turn turn;
+    private final int attempts;
+
+    private Pending(@NonNull final Turn turn, final int attempts) {
+      this.turn = turn;
+      this.attempts = attempts;
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Rule set for m,n,k-games: two sides take turns placing a piece on a board with {@code m} rows and
+ * {@code n} columns, and the first to get {@code k} of them in a row, in any direction, wins.
+ *
+ * <p>Each side is laid out row by row in {@code m * n} bits, away's first and home's right after,
+ * spanning as many {@link Bitboard} words as needed. Lines are found without enumerating them: a
+ * side is shifted towards each direction, masked by the tiles which have a neighbour there, and
+ * ANDed with itself {@code k - 1} times. Whatever survives is the start of a line.
+ *
+ * <p>It is also playable by a {@link Search}, which weighs each tile by the lines passing through
+ * it and, on boards larger than {@value #NEARBY} tiles, only searches tiles next to a piece.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://en.wikipedia.org/wiki/M,n,k-game">Technical reference</a>
+ */
+final class Mnk implements Type.Rule, Search.Rules {
+
+  /** Bits in a word. */
+  private static final int WORD = Long.SIZE;
+  /** Row steps for each direction: east, south, south-east and south-west. */
+  private static final int[] ROW_STEPS = {0, 1, 1, 1};
+  /** Column steps for each direction: east, south, south-east and south-west. */
+  private static final int[] COLUMN_STEPS = {1, 0, 1, -1};
+  /** Largest board, in tiles, whose every free tile is searched. */
+  private static final int NEARBY = 16;
+
+  /** Board's rows. */
+  private final int rows;
+  /** Board's columns. */
+  private final int columns;
+  /** Pieces in a row to win, the game's {@code k}. */
+  private final int inRow;
+  /** Measures the board's size in tiles. */
+  private final @Getter int tiles;
+  /** Words a side spans. */
+  private final int words;
+  /** Bit shift of each direction. */
+  private final int[] shifts;
+  /** Tiles having a neighbour in each direction, indexed by the direction and the word. */
+  private final long[][] edges;
+  /** Number of lines of {@link #inRow} passing through each tile, indexed by the tile. */
+  private final int[] weights;
+  /**
+   * Each thread's side and run buffers for {@link #hasLine}, of {@link #words} words each, and its
+   * buffer for the whole board, both sides included, for {@link #isWin}.
+   */
+  private final ThreadLocal<long[][]> scratch;
+
+  /**
+   * Builds the rule set and its edge masks.
+   *
+   * @param rows Board's rows.
+   * @param columns Board's columns. Must fit a direction's shift in a word.
+   * @param inRow Pieces in a row to win, the game's {@code k}. Must fit in the board.
+   */
+  Mnk(final int rows, final int columns, final int inRow) {
+    if (rows < 1
+        || columns < 1
+        || columns > WORD - 2
+        || inRow < 1
+        || inRow > Math.max(rows, columns)) {
+      throw new IllegalArgumentException(
+          "Unsupported board: " + rows + 'x' + columns + ", k=" + inRow);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.inRow = inRow;
+    tiles = rows * columns;
+    words = (tiles + WORD - 1) / WORD;
+    shifts = new int[ROW_STEPS.length];
+    edges = new long[ROW_STEPS.length][words];
+    weights = new int[tiles];
+    final var boardWords = (2 * tiles + WORD - 1) / WORD;
+    scratch =
+        ThreadLocal.withInitial(
+            () -> new long[][] {new long[words], new long[words], new long[boardWords]});
+    for (var d = 0; d < ROW_STEPS.length; d++) {
+      shifts[d] = ROW_STEPS[d] * columns + COLUMN_STEPS[d];
+      for (var tile = 0; tile < tiles; tile++) {
+        final var row = tile / columns;
+        final var column = tile % columns;
+        if (isOnBoard(row + ROW_STEPS[d], column + COLUMN_STEPS[d])) {
+          edges[d][tile / WORD] |= 1L << tile;
+        }
+        for (var back = 0; back < inRow; back++) {
+          final var fromRow = row - back * ROW_STEPS[d];
+          final var fromColumn = column - back * COLUMN_STEPS[d];
+          final var toRow = fromRow + (inRow - 1) * ROW_STEPS[d];
+          final var toColumn = fromColumn + (inRow - 1) * COLUMN_STEPS[d];
+          if (isOnBoard(fromRow, fromColumn) && isOnBoard(toRow, toColumn)) {
+            weights[tile]++;
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    final var bitsCurrent = current.bitCount();
+    if (Math.abs(bitsCurrent - last.bitCount()) > 1) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    if (bitsCurrent > tiles || current.length() > 2 * tiles) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    for (var from = 0; from < tiles; from += WORD) {
+      final var length = Math.min(WORD, tiles - from);
+      if ((current.bits(from, length) & current.bits(tiles + from, length)) != 0) {
+        return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed state) {
+    final var buffers = scratch.get();
+    if (hasLine(sideOf(state, 1, buffers[0]), buffers[1])) {
+      return Result.HOME;
+    }
+    if (hasLine(sideOf(state, 0, buffers[0]), buffers[1])) {
+      return Result.AWAY;
+    }
+    return state.bitCount() == tiles ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+    var placed = -1;
+    for (var index = 0; index < state.words(); index++) {
+      final var added = state.word(index) & ~last.word(index);
+      if (added == 0) {
+        continue;
+      }
+      if (placed >= 0 || Long.bitCount(added) != 1) {
+        return resultOf(state);
+      }
+      placed = index * WORD + Long.numberOfTrailingZeros(added);
+    }
+    if (placed < 0 || placed >= 2 * tiles) {
+      return resultOf(state);
+    }
+    final var board = scratch.get()[2];
+    for (var index = 0; index < board.length; index++) {
+      board[index] = state.word(index);
+    }
+    if (isWin(board, placed)) {
+      return placed < tiles ? Result.AWAY : Result.HOME;
+    }
+    return state.bitCount() == tiles ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public boolean isCandidate(@NonNull final long[] board, final int tile) {
+    if (isOccupied(board, tile)) {
+      return false;
+    }
+    if (tiles <= NEARBY) {
+      return true;
+    }
+    var empty = true;
+    for (final var word : board) {
+      empty &= word == 0;
+    }
+    if (empty) {
+      return tile == rows / 2 * columns + columns / 2;
+    }
+    final var row = tile / columns;
+    final var column = tile % columns;
+    for (var r = row - 1; r <= row + 1; r++) {
+      for (var c = column - 1; c <= column + 1; c++) {
+        if (isOnBoard(r, c) && isOccupied(board, r * columns + c)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isWin(@NonNull final long[] board, final int bit) {
+    final var base = bit < tiles ? 0 : tiles;
+    final var row = (bit - base) / columns;
+    final var column = (bit - base) % columns;
+    for (var d = 0; d < ROW_STEPS.length; d++) {
+      final var run =
+          1
+              + runFrom(board, base, row, column, ROW_STEPS[d], COLUMN_STEPS[d])
+              + runFrom(board, base, row, column, -ROW_STEPS[d], -COLUMN_STEPS[d]);
+      if (run >= inRow) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int evaluate(@NonNull final long[] board, final int side) {
+    var score = 0;
+    for (var index = 0; index < board.length; index++) {
+      for (var word = board[index]; word != 0; word &= word - 1) {
+        final var bit = index * WORD + Long.numberOfTrailingZeros(word);
+        if (bit >= 2 * tiles) {
+          break;
+        }
+        final var weight = weights[bit % tiles];
+        score += bit < tiles == (side == 0) ? weight : -weight;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Isolates one side's tiles from a bitboard.
+   *
+   * @param bitboard Board in bitboard notation.
+   * @param side Index of the side to isolate: {@code 0} for away and {@code 1} for home.
+   * @param words Buffer of {@link #words} words the side's tiles are written to.
+   * @return The buffer.
+   */
+  private long[] sideOf(final Bitboard.Processed bitboard, final int side, final long[] words) {
+    for (var index = 0; index < words.length; index++) {
+      final var from = index * WORD;
+      words[index] = bitboard.bits(side * tiles + from, Math.min(WORD, tiles - from));
+    }
+    return words;
+  }
+
+  /**
+   * Checks if a side holds {@link #inRow} pieces in a row, in any direction.
+   *
+   * @param side The side's tiles.
+   * @param run Buffer of {@link #words} words the lines are grown in.
+   * @return If any line is filled up.
+   */
+  private boolean hasLine(final long[] side, final long[] run) {
+    for (var d = 0; d < shifts.length; d++) {
+      System.arraycopy(side, 0, run, 0, words);
+      var any = true;
+      for (var step = 1; step < inRow && any; step++) {
+        any = false;
+        for (var index = 0; index < words; index++) {
+          final var next = index + 1 < words ? run[index + 1] << WORD - shifts[d] : 0;
+          run[index] = side[index] & edges[d][index] & (run[index] >>> shifts[d] | next);
+          any |= run[index] != 0;
+        }
+      }
+      if (any) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Counts a side's pieces in a row, from a tile towards a direction.
+   *
+   * @param board Board in bitboard notation.
+   * @param base Index of the side's first bit.
+   * @param row Starting tile's row, which is not counted.
+   * @param column Starting tile's column, which is not counted.
+   * @param rowStep Direction's row step.
+   * @param columnStep Direction's column step.
+   * @return Number of contiguous pieces, up to {@link #inRow}.
+   */
+  private int runFrom(
+      final long[] board,
+      final int base,
+      final int row,
+      final int column,
+      final int rowStep,
+      final int columnStep) {
+    var count = 0;
+    var r = row + rowStep;
+    var c = column + columnStep;
+    while (count < inRow && isOnBoard(r, c) && has(board, base + r * columns + c)) {
+      count++;
+      r += rowStep;
+      c += columnStep;
+    }
+    return count;
+  }
+
+  private boolean isOccupied(final long[] board, final int tile) {
+    return has(board, tile) || has(board, tiles + tile);
+  }
+
+  private static boolean has(final long[] board, final int bit) {
+    return bit >>> 6 < board.length && (board[bit >>> 6] & 1L << bit) != 0;
+  }
+
+  private boolean isOnBoard(final int row, final int column) {
+    return row >= 0 && row < rows && column >= 0 && column < columns;
+  }
+}
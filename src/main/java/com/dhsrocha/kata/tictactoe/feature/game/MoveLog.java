@@ -0,0 +1,93 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Packed log of the pieces placed on a {@link Type#TIC_TAC_TOE} board, in the order they were
+ * placed, so a {@link Game} keeps its whole history in a single {@code long} once its {@link Turn}
+ * entities are removed.
+ *
+ * <p>Each piece takes a {@value #SLOT}-bit slot, from the lowest bits up, holding its bit index in
+ * bitboard notation plus one. The side is then told by the bit itself, and the first empty slot
+ * ends the log. A log holds up to {@value #CAPACITY} pieces, more than a board has tiles.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class MoveLog {
+
+  /** Log with no piece placed. */
+  static final long EMPTY = 0;
+  /** Bits of a piece's slot. */
+  private static final int SLOT = 5;
+  /** Covers a piece's slot. */
+  private static final int MASK = (1 << SLOT) - 1;
+  /** Pieces held by a log. */
+  private static final int CAPACITY = Long.SIZE / SLOT;
+
+  /**
+   * Counts the pieces placed.
+   *
+   * @param log The log.
+   * @return Number of pieces.
+   */
+  static int size(final long log) {
+    var size = 0;
+    while (size < CAPACITY && (log >>> size * SLOT & MASK) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Retrieves a placed piece.
+   *
+   * @param log The log.
+   * @param index Piece's order, from {@code 0} up to the log's {@link #size(long) size}.
+   * @return The piece's bit index, in bitboard notation.
+   */
+  static int bit(final long log, final int index) {
+    return (int) (log >>> index * SLOT & MASK) - 1;
+  }
+
+  /**
+   * Appends the pieces placed from a board to the next one, by ascending bit index if more than one
+   * is placed at once.
+   *
+   * @param log The log.
+   * @param from Board before the pieces are placed, in bitboard notation.
+   * @param to Board after the pieces are placed, in bitboard notation.
+   * @return The log with the pieces appended.
+   * @throws IllegalArgumentException if the log cannot hold the pieces.
+   */
+  static long append(final long log, final long from, final long to) {
+    var result = log;
+    var size = size(log);
+    for (var placed = to & ~from; placed != 0; placed &= placed - 1) {
+      final var bit = Long.numberOfTrailingZeros(placed);
+      if (size == CAPACITY || bit >= MASK) {
+        throw new IllegalArgumentException("Log cannot hold the placed pieces.");
+      }
+      result |= (long) (bit + 1) << size++ * SLOT;
+    }
+    return result;
+  }
+
+  /**
+   * Rebuilds every board, one per placed piece and in order, each from the one before it.
+   *
+   * @param log The log.
+   * @return The boards in bitboard notation, from the first piece placed to the last one.
+   */
+  static long[] states(final long log) {
+    final var states = new long[size(log)];
+    var state = 0L;
+    for (var index = 0; index < states.length; index++) {
+      state |= 1L << bit(log, index);
+      states[index] = state;
+    }
+    return states;
+  }
+}
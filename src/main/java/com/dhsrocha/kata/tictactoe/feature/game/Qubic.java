@@ -0,0 +1,165 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import lombok.NonNull;
+
+/**
+ * Rule set for Qubic, a tic-tac-toe played on a 4x4x4 cube: the first side to get 4 pieces in a
+ * row, in any of the cube's 76 lines, wins.
+ *
+ * <p>The cube has exactly 64 tiles, so each side fills up a whole {@link Bitboard} word: away's is
+ * the first one and home's the second one. Tile {@code x + 4y + 16z} is the bit of the same index.
+ * Every line is precomputed into a mask, as are the lines passing through each tile.
+ *
+ * <p>It is also playable by a {@link Search}, which weighs each tile by the lines passing through
+ * it, so corners and the inner cube's tiles come first.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://en.wikipedia.org/wiki/3D_tic-tac-toe">Technical reference</a>
+ */
+final class Qubic implements Type.Rule, Search.Rules {
+
+  /** Tiles along an edge. */
+  private static final int EDGE = 4;
+  /** Tiles on a side. */
+  private static final int TILES = EDGE * EDGE * EDGE;
+  /** Every winning line, in bitboard notation for a single side. */
+  static final long[] LINES =
+      IntStream.range(0, TILES)
+          .boxed()
+          .flatMap(
+              tile ->
+                  IntStream.range(0, 27)
+                      .filter(Qubic::isForward)
+                      .mapToObj(d -> lineOf(tile, d))
+                      .filter(line -> line != 0))
+          .mapToLong(Long::longValue)
+          .toArray();
+  /** Winning lines passing through each tile, indexed by the tile. */
+  private static final long[][] LINES_THROUGH =
+      IntStream.range(0, TILES)
+          .mapToObj(t -> LongStream.of(LINES).filter(l -> (l & 1L << t) != 0).toArray())
+          .toArray(long[][]::new);
+
+  @Override
+  public int getTiles() {
+    return TILES;
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    final var bitsCurrent = current.bitCount();
+    if (Math.abs(bitsCurrent - last.bitCount()) > 1) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    if (bitsCurrent > TILES || current.words() > 2) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    if ((current.word(0) & current.word(1)) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed state) {
+    final var away = state.word(0);
+    final var home = state.word(1);
+    var awayWins = false;
+    for (final var line : LINES) {
+      if (line == (line & home)) {
+        return Result.HOME;
+      }
+      awayWins |= line == (line & away);
+    }
+    if (awayWins) {
+      return Result.AWAY;
+    }
+    return state.bitCount() == TILES ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+    final var awayPlaced = state.word(0) & ~last.word(0);
+    final var homePlaced = state.word(1) & ~last.word(1);
+    if (Long.bitCount(awayPlaced) + Long.bitCount(homePlaced) != 1) {
+      return resultOf(state);
+    }
+    final var side = awayPlaced != 0 ? state.word(0) : state.word(1);
+    final var tile = Long.numberOfTrailingZeros(awayPlaced | homePlaced);
+    for (final var line : LINES_THROUGH[tile]) {
+      if (line == (line & side)) {
+        return awayPlaced != 0 ? Result.AWAY : Result.HOME;
+      }
+    }
+    return state.bitCount() == TILES ? Result.TIE : Result.NOT_OVER;
+  }
+
+  @Override
+  public boolean isCandidate(@NonNull final long[] board, final int tile) {
+    return ((board[0] | board[1]) & 1L << tile) == 0;
+  }
+
+  @Override
+  public boolean isWin(@NonNull final long[] board, final int bit) {
+    final var side = board[bit >>> 6];
+    for (final var line : LINES_THROUGH[bit & TILES - 1]) {
+      if (line == (line & side)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int evaluate(@NonNull final long[] board, final int side) {
+    var score = 0;
+    for (var own = board[side]; own != 0; own &= own - 1) {
+      score += LINES_THROUGH[Long.numberOfTrailingZeros(own)].length;
+    }
+    for (var other = board[1 - side]; other != 0; other &= other - 1) {
+      score -= LINES_THROUGH[Long.numberOfTrailingZeros(other)].length;
+    }
+    return score;
+  }
+
+  /**
+   * Checks if a direction, encoded in base 3 with digits {@code 0}, {@code 1} and {@code 2} for
+   * steps of {@code -1}, {@code 0} and {@code +1} on each axis, is the forward one of its pair, so
+   * each line is built once.
+   */
+  private static boolean isForward(final int direction) {
+    final var steps = new int[] {direction % 3 - 1, direction / 3 % 3 - 1, direction / 9 - 1};
+    return Arrays.stream(steps).filter(s -> s != 0).findFirst().orElse(0) > 0;
+  }
+
+  /**
+   * Builds the line starting from a tile towards a direction.
+   *
+   * @return The line's mask, or zero if it does not fit in the cube.
+   */
+  private static long lineOf(final int tile, final int direction) {
+    final var dx = direction % 3 - 1;
+    final var dy = direction / 3 % 3 - 1;
+    final var dz = direction / 9 - 1;
+    var line = 0L;
+    for (var step = 0; step < EDGE; step++) {
+      final var x = tile % EDGE + step * dx;
+      final var y = tile / EDGE % EDGE + step * dy;
+      final var z = tile / (EDGE * EDGE) + step * dz;
+      if (x < 0 || x >= EDGE || y < 0 || y >= EDGE || z < 0 || z >= EDGE) {
+        return 0;
+      }
+      line |= 1L << x + EDGE * y + EDGE * EDGE * z;
+    }
+    return line;
+  }
+}
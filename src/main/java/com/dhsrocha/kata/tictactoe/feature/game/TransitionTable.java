@@ -0,0 +1,150 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Processor;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Validator;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Engine mode for {@link Type#TIC_TAC_TOE} which holds every reachable state, computed once at
+ * startup, indexed directly by its bitboard notation.
+ *
+ * <p>Each entry packs whether the state is reachable, its {@link Result} and which tiles lead to a
+ * legal successor state. Validating a transition and calculating its result are then a couple of
+ * array reads, with neither hashing nor board scanning.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "game.engine.transition-table", name = "enabled")
+class TransitionTable implements Validator, Processor {
+
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+  /** Covers all tiles on a side. */
+  private static final int SIDE = (1 << TILES) - 1;
+  /** Covers both sides. */
+  private static final int BOARD = (1 << TILES * 2) - 1;
+  /** Away side is the one which can place a piece in the successor state. */
+  private static final int AWAY_MOVES = 1 << TILES;
+  /** Home side is the one which can place a piece in the successor state. */
+  private static final int HOME_MOVES = 1 << TILES + 1;
+  /** Offset of the result's ordinal in an entry. */
+  private static final int RESULT = TILES + 2;
+  /** The state is reachable from the empty board. */
+  private static final int REACHABLE = 1 << RESULT + 2;
+  /** Results, indexed by their ordinal. */
+  private static final Result[] RESULTS = Result.values();
+
+  /** Entries indexed by state, in bitboard notation. */
+  private final char[] index = new char[BOARD + 1];
+  /** Number of states reachable from the empty board. */
+  private final @Getter int reachable;
+
+  TransitionTable() {
+    final var start = System.nanoTime();
+    reachable = visit(0);
+    final var elapsed = (System.nanoTime() - start) / 1_000_000;
+    log.info(
+        "Transition table for {} built in {} ms: {} reachable states, {} KiB.",
+        Type.TIC_TAC_TOE,
+        elapsed,
+        reachable,
+        footprint() / 1024);
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    final var state = current.getState();
+    if ((state & ~BOARD) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    if ((state & state >>> TILES & SIDE) != 0) {
+      return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
+    }
+    if ((index[(int) state] & REACHABLE) == 0) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    final var from = last.getState();
+    final var placed = from ^ state;
+    if ((from & ~BOARD) != 0
+        || Long.bitCount(placed) != 1
+        || (placed & state) == 0
+        || (placed & successorsOf(index[(int) from])) == 0) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Bitboard.Zobrist zobrist() {
+    return Type.TIC_TAC_TOE.zobrist();
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed processed) {
+    final var entry = index[(int) (processed.getState() & BOARD)];
+    return (entry & REACHABLE) == 0
+        ? Type.TIC_TAC_TOE.resultOf(processed)
+        : RESULTS[entry >>> RESULT & 0b11];
+  }
+
+  /** Footprint of the index, in bytes. */
+  long footprint() {
+    return (long) index.length * Character.BYTES;
+  }
+
+  /**
+   * Indexes the provided state and every one reachable from it.
+   *
+   * @param state Board in bitboard notation.
+   * @return Number of states indexed for the first time.
+   */
+  private int visit(final int state) {
+    if ((index[state] & REACHABLE) != 0) {
+      return 0;
+    }
+    final var board = Bitboard.of(state);
+    final var result =
+        0 == state
+            ? Result.NOT_OVER
+            : Type.TIC_TAC_TOE.resultOf(board.processWith(board, Type.TIC_TAC_TOE));
+    final var home = Integer.bitCount(state >>> TILES);
+    final var away = Integer.bitCount(state & SIDE);
+    final var free = Result.NOT_OVER == result ? ~(state | state >>> TILES) & SIDE : 0;
+    final var movers = (home <= away ? HOME_MOVES : 0) | (away <= home ? AWAY_MOVES : 0);
+    index[state] =
+        (char) (REACHABLE | result.ordinal() << RESULT | (free == 0 ? 0 : movers) | free);
+    var visited = 1;
+    for (var tiles = free; tiles != 0; tiles &= tiles - 1) {
+      final var tile = Integer.lowestOneBit(tiles);
+      if ((movers & HOME_MOVES) != 0) {
+        visited += visit(state | tile << TILES);
+      }
+      if ((movers & AWAY_MOVES) != 0) {
+        visited += visit(state | tile);
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Unpacks the bits which can be set on a state to reach its successors.
+   *
+   * @param entry Indexed entry of a state.
+   * @return Placeable bits, in bitboard notation.
+   */
+  private static long successorsOf(final char entry) {
+    final long free = entry & SIDE;
+    return ((entry & AWAY_MOVES) == 0 ? 0 : free) | ((entry & HOME_MOVES) == 0 ? 0 : free << TILES);
+  }
+}
@@ -1,12 +1,15 @@
 package com.dhsrocha.kata.tictactoe.feature.game;
 
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard.Processor;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard.Validator;
-import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,27 +18,28 @@ import lombok.NonNull;
 /**
  * Game type, holds a game's rule set to process a game in given state.
  *
+ * <p>Every type delegates to a {@link Rule rule set}, such as the {@link Mnk m,n,k-game} one,
+ * unless it specializes it, as {@link #TIC_TAC_TOE} does for its single-word board.
+ *
  * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
  */
 @Getter(AccessLevel.PRIVATE)
 @AllArgsConstructor
 enum Type implements Processor, Validator {
-  TIC_TAC_TOE(2, 9) {
+  TIC_TAC_TOE(new Mnk(3, 3, 3)) {
     @Override
     public Optional<ExceptionCode> validate(
         @NonNull final Bitboard last, @NonNull final Bitboard current) {
       final var self = TIC_TAC_TOE;
-      final var bitLast = BitSet.valueOf(new long[] {last.getState()});
-      final var bitCurrent = BitSet.valueOf(new long[] {current.getState()});
-      if (Math.abs(bitCurrent.cardinality() - bitLast.cardinality()) > 1) {
+      final var bitsLast = Long.bitCount(last.getState());
+      final var bitsCurrent = Long.bitCount(current.getState());
+      if (Math.abs(bitsCurrent - bitsLast) > 1) {
         return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
       }
-      if (bitCurrent.cardinality() > self.getTiles()) {
+      if (bitsCurrent > self.getTiles() || current.length() > self.getStates() * self.getTiles()) {
         return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
       }
-      final var home = bitCurrent.get(0, self.getTiles());
-      final var away = bitCurrent.get(self.getTiles(), self.getTiles() * self.getStates());
-      if (home.intersects(away)) {
+      if ((self.sideOf(current, 0) & self.sideOf(current, 1)) != 0) {
         return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
       }
       return Optional.empty();
@@ -43,37 +47,214 @@ enum Type implements Processor, Validator {
 
     @Override
     public Bitboard.Result resultOf(@NonNull final Bitboard.Processed processed) {
+      if (WINS.test(TIC_TAC_TOE.sideOf(processed, 1))) {
+        return Result.HOME;
+      }
+      if (WINS.test(TIC_TAC_TOE.sideOf(processed, 0))) {
+        return Result.AWAY;
+      }
       final var rounds = Long.bitCount(processed.getState());
-      if (rounds < 5) {
-        return Bitboard.Result.NOT_OVER;
+      return rounds == TIC_TAC_TOE.getTiles() ? Bitboard.Result.TIE : Bitboard.Result.NOT_OVER;
+    }
+
+    @Override
+    public Bitboard.Result resultOf(
+        @NonNull final Bitboard last, @NonNull final Bitboard.Processed processed) {
+      final var self = TIC_TAC_TOE;
+      final var placed = processed.getState() & ~last.getState();
+      final var bit = Long.numberOfTrailingZeros(placed);
+      if (Long.bitCount(placed) != 1 || bit >= self.getStates() * self.getTiles()) {
+        return resultOf(processed);
       }
-      for (final var win : WIN_STATES) {
-        if (win == (win & (processed.getState() >> TIC_TAC_TOE.getTiles()))) {
-          return Result.HOME;
-        }
-        if (win == (win & (processed.getState() & (1L << TIC_TAC_TOE.getTiles()) - 1))) {
-          return Result.AWAY;
+      final var side = self.sideOf(processed, bit / self.getTiles());
+      for (final var line : LINES_THROUGH[bit % self.getTiles()]) {
+        if (line == (line & side)) {
+          return bit < self.getTiles() ? Result.AWAY : Result.HOME;
         }
       }
-      return rounds == TIC_TAC_TOE.getTiles() ? Bitboard.Result.TIE : Bitboard.Result.NOT_OVER;
+      final var rounds = Long.bitCount(processed.getState());
+      return rounds == self.getTiles() ? Bitboard.Result.TIE : Bitboard.Result.NOT_OVER;
     }
 
-    /** Winning states. */
-    private static final int[] WIN_STATES =
-        new int[] {
-          0b0__111_000_000,
-          0b0__000_111_000,
-          0b0__000_000_111,
-          0b0__100_100_100,
-          0b0__010_010_010,
-          0b0__001_001_001,
-          0b0__100_010_001,
-          0b0__001_010_100
-        };
+    @Override
+    public void resultsOf(@NonNull final long[] states, @NonNull final byte[] results) {
+      Objects.checkFromIndexSize(0, states.length, results.length);
+      for (var index = 0; index < states.length; index++) {
+        final var state = states[index];
+        results[index] =
+            WINS.test(state >>> 9 & 0x1FF)
+                ? HOME
+                : WINS.test(state & 0x1FF) ? AWAY : Long.bitCount(state) == 9 ? TIE : NOT_OVER;
+      }
+    }
   },
+  /** Four in a row on a 4x4 board. */
+  MNK_4X4_4(new Mnk(4, 4, 4)),
+  /** Five in a row on a 7x7 board. */
+  MNK_7X7_5(new Mnk(7, 7, 5)),
+  /** Five in a row on a 15x15 board. */
+  GOMOKU(new Mnk(15, 15, 5)),
+  /** Four in a row on a 7x6 vertical board, where pieces fall to the lowest free tile. */
+  CONNECT_FOUR(new ConnectFour()),
+  /** Four in a row in a 4x4x4 cube, whose sides fill up a word each. */
+  QUBIC(new Qubic()),
+  /** Tic-tac-toe of tic-tac-toe boards, where each move picks the sub-board of the next one. */
+  ULTIMATE(new Ultimate()),
   ;
   /** Depicts possible non-empty states the {@link Game} can support. */
   private final int states;
   /** Measures the board's size in tiles. */
-  private final int tiles;
+  private final @Getter(AccessLevel.PACKAGE) int tiles;
+  /** Generic rule set for the board. */
+  private final Rule rule;
+
+  /** Tic-tac-toe winning states, also used by {@link Ultimate} for its sub-boards. */
+  static final long[] WIN_STATES =
+      new long[] {
+        0b0__111_000_000,
+        0b0__000_111_000,
+        0b0__000_000_111,
+        0b0__100_100_100,
+        0b0__010_010_010,
+        0b0__001_001_001,
+        0b0__100_010_001,
+        0b0__001_010_100
+      };
+  /** Every side's arrangement checked against {@link #WIN_STATES}. */
+  static final Bitboard.WinTable WINS = Bitboard.WinTable.of(9, WIN_STATES);
+  /** Winning states passing through each tile, indexed by the tile. */
+  private static final long[][] LINES_THROUGH =
+      IntStream.range(0, 9)
+          .mapToObj(t -> Arrays.stream(WIN_STATES).filter(w -> (w & 1L << t) != 0).toArray())
+          .toArray(long[][]::new);
+  /** {@link Result#HOME}'s ordinal, as filled up by batch calculations. */
+  private static final byte HOME = (byte) Result.HOME.ordinal();
+  /** {@link Result#AWAY}'s ordinal, as filled up by batch calculations. */
+  private static final byte AWAY = (byte) Result.AWAY.ordinal();
+  /** {@link Result#TIE}'s ordinal, as filled up by batch calculations. */
+  private static final byte TIE = (byte) Result.TIE.ordinal();
+  /** {@link Result#NOT_OVER}'s ordinal, as filled up by batch calculations. */
+  private static final byte NOT_OVER = (byte) Result.NOT_OVER.ordinal();
+  /** Zobrist keys of each type, indexed by its ordinal and drawn from its name. */
+  private static final Bitboard.Zobrist[] ZOBRISTS =
+      Arrays.stream(values())
+          .map(t -> Bitboard.Zobrist.of(t.rule.getBits(), t.name().hashCode()))
+          .toArray(Bitboard.Zobrist[]::new);
+
+  Type(@NonNull final Rule rule) {
+    this(2, rule.getTiles(), rule);
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    return rule.validate(last, current);
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed state) {
+    return rule.resultOf(state);
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+    return rule.resultOf(last, state);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Each type draws its own keys, from its name, so hashes are the same across runs.
+   */
+  @Override
+  public Bitboard.Zobrist zobrist() {
+    return ZOBRISTS[ordinal()];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the type's board spans more than a single word.
+   */
+  @Override
+  public void resultsOf(@NonNull final long[] states, @NonNull final byte[] results) {
+    if (rule.getBits() > Long.SIZE) {
+      throw new IllegalArgumentException("Unsupported multi-word type: " + this);
+    }
+    rule.resultsOf(states, results);
+  }
+
+  /**
+   * Places a side's piece on a free tile of the last round's board, so a move is told by its tile
+   * alone and checked by the tile being free before the whole board is validated.
+   *
+   * @param last Last round's state, in bitboard notation.
+   * @param side Side to place for: {@code 0} for away and {@code 1} for home.
+   * @param tile Tile's index, within a side.
+   * @return The board with the piece placed, or empty if the tile is off the board or taken.
+   */
+  Optional<Bitboard> place(@NonNull final Bitboard last, final int side, final int tile) {
+    final var tiles = rule.getTiles();
+    if (tile < 0 || tile >= tiles || last.has(tile) || last.has(tiles + tile)) {
+      return Optional.empty();
+    }
+    return Optional.of(rule.place(last, side, tile));
+  }
+
+  /**
+   * Isolates one side's tiles from a bitboard, by using primitive arithmetic only.
+   *
+   * @param bitboard Board in bitboard notation, with each side laid out in {@link #tiles} bits.
+   * @param side Index of the side to isolate: {@code 0} for away and {@code 1} for home.
+   * @return The side's tiles, right-aligned.
+   */
+  final long sideOf(@NonNull final Bitboard bitboard, final int side) {
+    return bitboard.getState() >>> side * tiles & (1L << tiles) - 1;
+  }
+
+  /**
+   * Retrieves the rule set in the form a {@link Search} plays, if it supports one.
+   *
+   * @return The searchable rule set, or empty if the type cannot be searched.
+   */
+  final Optional<Search.Rules> searchable() {
+    return rule instanceof Search.Rules rules ? Optional.of(rules) : Optional.empty();
+  }
+
+  /**
+   * Rule set a {@link Type} delegates to.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  interface Rule extends Processor, Validator {
+
+    /**
+     * Measures a side's layout in tiles, which is also the bit offset of the home side.
+     *
+     * @return Number of tiles.
+     */
+    int getTiles();
+
+    /**
+     * Measures the board's state in bits, which are the ones hashed. By default, both sides' tiles.
+     *
+     * @return Number of bits.
+     */
+    default int getBits() {
+      return 2 * getTiles();
+    }
+
+    /**
+     * Places a side's piece on a free tile of the last round's board. By default, it sets the
+     * tile's bit only.
+     *
+     * @param last Last round's state, in bitboard notation.
+     * @param side Side to place for: {@code 0} for away and {@code 1} for home.
+     * @param tile Free tile's index, within a side.
+     * @return The board with the piece placed, still to be validated.
+     */
+    default Bitboard place(@NonNull final Bitboard last, final int side, final int tile) {
+      return last.with(side * getTiles() + tile, 1, 1);
+    }
+  }
 }
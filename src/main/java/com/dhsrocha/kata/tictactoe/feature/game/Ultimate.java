@@ -0,0 +1,177 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Rule set for ultimate tic-tac-toe: a tic-tac-toe board whose tiles are tic-tac-toe boards
+ * themselves. A piece placed on a sub-board's tile sends the next one to the sub-board at the same
+ * position, unless it is closed, and winning a sub-board claims the corresponding tile on the
+ * meta-board. The first to get 3 sub-boards in a row wins.
+ *
+ * <p>Each side is laid out sub-board by sub-board, so tile {@code 9 * sub + cell} is a sub-board's
+ * cell, with away's {@value #TILES} tiles first and home's right after. The following 4 bits hold
+ * where the next piece must be placed: {@code 0} for any open sub-board, or the sub-board plus one.
+ * The whole state spans 166 bits, over three {@link Bitboard} words.
+ *
+ * <p>Sub-boards and the meta-board are checked through {@link Type#TIC_TAC_TOE}'s {@link
+ * Bitboard.WinTable win table}, a single lookup each. A move is validated by the placed piece and
+ * the sub-boards it comes from and sends to, without looking at the other tiles.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Ultimate_tic-tac-toe">Technical reference</a>
+ */
+final class Ultimate implements Type.Rule {
+
+  /** Bits in a word. */
+  private static final int WORD = Long.SIZE;
+  /** Tiles on a sub-board. */
+  private static final int CELLS = 9;
+  /** Tiles on a side. */
+  private static final int TILES = CELLS * CELLS;
+  /** Offset of the forced sub-board field. */
+  private static final int FORCED = 2 * TILES;
+  /** Bits of the forced sub-board field. */
+  private static final int FORCED_BITS = 4;
+  /** Covers all tiles on a sub-board. */
+  private static final int FULL = (1 << CELLS) - 1;
+
+  @Override
+  public int getTiles() {
+    return TILES;
+  }
+
+  @Override
+  public int getBits() {
+    return FORCED + FORCED_BITS;
+  }
+
+  @Override
+  public Optional<ExceptionCode> validate(
+      @NonNull final Bitboard last, @NonNull final Bitboard current) {
+    if (current.length() > FORCED + FORCED_BITS || current.bits(FORCED, FORCED_BITS) > CELLS) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS);
+    }
+    final var pieces = piecesOf(current);
+    final var placed = pieces - piecesOf(last);
+    if (Math.abs(placed) > 1 || pieces > TILES) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    for (var from = 0; from < TILES; from += WORD) {
+      final var length = Math.min(WORD, TILES - from);
+      if ((current.bits(from, length) & current.bits(TILES + from, length)) != 0) {
+        return Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE);
+      }
+    }
+    if (placed != 1) {
+      return Optional.empty();
+    }
+    final var bit = placedBit(last, current);
+    if (bit < 0) {
+      return Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND);
+    }
+    final var tile = bit % TILES;
+    final var sub = tile / CELLS;
+    final var forced = (int) last.bits(FORCED, FORCED_BITS);
+    if (forced != 0 && forced - 1 != sub) {
+      return Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD);
+    }
+    if (isClosed(last, sub)) {
+      return Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD);
+    }
+    final var next = tile % CELLS;
+    final var expected = isClosed(current, next) ? 0 : next + 1;
+    if (current.bits(FORCED, FORCED_BITS) != expected) {
+      return Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard.Processed state) {
+    if (Type.WINS.test(metaOf(state, 1))) {
+      return Result.HOME;
+    }
+    if (Type.WINS.test(metaOf(state, 0))) {
+      return Result.AWAY;
+    }
+    for (var sub = 0; sub < CELLS; sub++) {
+      if (!isClosed(state, sub)) {
+        return Result.NOT_OVER;
+      }
+    }
+    return Result.TIE;
+  }
+
+  @Override
+  public Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+    final var bit = placedBit(last, state);
+    if (bit < 0 || piecesOf(state) - piecesOf(last) != 1) {
+      return resultOf(state);
+    }
+    final var side = bit / TILES;
+    final var sub = bit % TILES / CELLS;
+    if (Type.WINS.test(subOf(state, side, sub)) && Type.WINS.test(metaOf(state, side))) {
+      return side == 0 ? Result.AWAY : Result.HOME;
+    }
+    return isClosed(state, sub) ? resultOf(state) : Result.NOT_OVER;
+  }
+
+  /** Places the piece and sends the next one to the sub-board at the placed cell's position. */
+  @Override
+  public Bitboard place(@NonNull final Bitboard last, final int side, final int tile) {
+    final var placed = last.with(side * TILES + tile, 1, 1);
+    final var next = tile % CELLS;
+    return placed.with(FORCED, FORCED_BITS, isClosed(placed, next) ? 0 : next + 1);
+  }
+
+  /** Counts the pieces on a board, leaving the forced sub-board field out. */
+  private static int piecesOf(final Bitboard board) {
+    return board.bitCount() - Long.bitCount(board.bits(FORCED, FORCED_BITS));
+  }
+
+  /**
+   * Finds the single piece placed from a board to another.
+   *
+   * @return The placed piece's bit, or {@code -1} if not exactly one is placed.
+   */
+  private static int placedBit(final Bitboard last, final Bitboard current) {
+    var bit = -1;
+    for (var from = 0; from < FORCED; from += WORD) {
+      final var length = Math.min(WORD, FORCED - from);
+      final var added = current.bits(from, length) & ~last.bits(from, length);
+      if (added == 0) {
+        continue;
+      }
+      if (bit >= 0 || Long.bitCount(added) != 1) {
+        return -1;
+      }
+      bit = from + Long.numberOfTrailingZeros(added);
+    }
+    return bit;
+  }
+
+  /** Isolates a side's sub-board, right-aligned. */
+  private static long subOf(final Bitboard board, final int side, final int sub) {
+    return board.bits(side * TILES + sub * CELLS, CELLS);
+  }
+
+  /** Gathers the sub-boards a side has won, as a tic-tac-toe board. */
+  private static long metaOf(final Bitboard.Processed board, final int side) {
+    var meta = 0L;
+    for (var sub = 0; sub < CELLS; sub++) {
+      meta |= Type.WINS.test(subOf(board, side, sub)) ? 1L << sub : 0;
+    }
+    return meta;
+  }
+
+  /** Checks if a sub-board is won by any side or has no free tile left. */
+  private static boolean isClosed(final Bitboard board, final int sub) {
+    final var away = subOf(board, 0, sub);
+    final var home = subOf(board, 1, sub);
+    return Type.WINS.test(away) || Type.WINS.test(home) || (away | home) == FULL;
+  }
+}
@@ -0,0 +1,35 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+/**
+ * Answers for 3x3 positions under perfect play from both sides, seen from the side to move.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+public interface PerfectPlay {
+
+  /**
+   * Evaluates a position under perfect play from both sides.
+   *
+   * @param mover Tiles of the side to move.
+   * @param opponent Tiles of the side which moved last.
+   * @return Positive if the side to move wins, negative if it loses and zero for a draw. The
+   *     further from zero, the sooner the game ends.
+   */
+  int valueOf(int mover, int opponent);
+
+  /**
+   * Picks a best tile for the side to move.
+   *
+   * @param mover Tiles of the side to move.
+   * @param opponent Tiles of the side which moved last.
+   * @return The tile to place a piece on, or {@code -1} if the game is already over.
+   */
+  int bestMove(int mover, int opponent);
+
+  /**
+   * Number of distinct positions, up to symmetry, answered.
+   *
+   * @return Positions held.
+   */
+  int size();
+}
@@ -0,0 +1,410 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+
+/**
+ * Time-bounded engine for boards too large to be solved, by iterative deepening alpha-beta.
+ *
+ * <p>Each search runs in parallel under the lazy SMP scheme: as many workers as the pool's
+ * parallelism search the same position independently, with slightly different depths and move
+ * orders, and share what they find through a single transposition table. The deepest iteration
+ * completed by any worker gives the answer. Searches run on their own bounded {@link ForkJoinPool},
+ * and callers are handed a future instead of waiting on it, so they never lend nor block their
+ * threads. Every worker stops at the move's deadline, and a search still queued by then is answered
+ * from a one-ply iteration done up front.
+ *
+ * <p>The transposition table is a {@code long} array, shared by all searches, with no locks: each
+ * entry is written as its data and its key XORed with the data, so an entry torn by concurrent
+ * writes is read as a miss. Positions are keyed by the board's own {@link Bitboard.Zobrist} hash,
+ * the same a turn carries, updated incrementally as pieces are placed and taken back, so a search
+ * starts from the hash it is given and keys the same position the same way across runs.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Technical reference</a>
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">Technical
+ *     reference</a>
+ */
+public final class Search implements AutoCloseable {
+
+  /** Score of a win at the root, reduced by each ply it takes to reach it. */
+  private static final int WIN = 1 << 24;
+  /** Deepest ply searched. */
+  private static final int MAX_PLY = 64;
+  /** Nodes visited between checks of the deadline, minus one. */
+  private static final int CHECK = 1023;
+  /** Stored score is exact. */
+  private static final int EXACT = 0;
+  /** Stored score is a lower bound, from a beta cut-off. */
+  private static final int LOWER = 1;
+  /** Stored score is an upper bound, as no move raised alpha. */
+  private static final int UPPER = 2;
+  /** Offset of an entry's score, in its data word, after the move plus one. */
+  private static final int SCORE = 16;
+  /** Offset of an entry's depth, in its data word. */
+  private static final int DEPTH = 48;
+  /** Offset of an entry's bound type, in its data word. */
+  private static final int BOUND = 56;
+  /** Time a search is given beyond its budget to wind down, before it is answered anyway. */
+  private static final long GRACE = TimeUnit.MILLISECONDS.toNanos(50);
+  /** Covers the move of a completed iteration, packed after its depth. */
+  private static final long MOVE = 0xFFFF_FFFFL;
+  /** Key XORed into a position's hash while home is to move, as a board's keys cover no mover. */
+  private static final long HOME_TO_MOVE = 0x9E37_79B9_7F4A_7C15L;
+
+  /** Runs the workers of all searches. */
+  private final ForkJoinPool pool;
+  /** Entries as pairs of words: the key XORed with the data, then the data. */
+  private final long[] table;
+  /** Covers the index of an entry. */
+  private final int mask;
+
+  /**
+   * Builds the engine and its transposition table.
+   *
+   * @param parallelism Workers per search and threads of the pool. Zero or less takes the available
+   *     processors.
+   * @param tableBits Entries of the transposition table, as a power of two.
+   */
+  public Search(final int parallelism, final int tableBits) {
+    if (tableBits < 1 || tableBits > 28) {
+      throw new IllegalArgumentException("Unsupported table size: " + tableBits);
+    }
+    final var threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    pool = new ForkJoinPool(threads);
+    table = new long[2 << tableBits];
+    mask = (1 << tableBits) - 1;
+  }
+
+  /**
+   * Searches the best tile for a side to move until the time budget runs out.
+   *
+   * @param rules Rule set of the board.
+   * @param keys {@link Bitboard.Zobrist} keys of the board's type.
+   * @param board Board in bitboard notation: away's {@link Rules#getTiles() tiles} first and home's
+   *     right after. It is left untouched.
+   * @param hash Board's hash under the provided keys, as already kept for its turn.
+   * @param side Index of the side to move: {@code 0} for away and {@code 1} for home.
+   * @param budget Time to search for.
+   * @return The tile to place a piece on, or {@code -1} if there is none, from the deepest
+   *     iteration completed in time. Completed on the search's threads, or right away if there is
+   *     at most one candidate.
+   */
+  public @NonNull CompletableFuture<Integer> bestMove(
+      @NonNull final Rules rules,
+      @NonNull final Bitboard.Zobrist keys,
+      @NonNull final long[] board,
+      final long hash,
+      final int side,
+      @NonNull final Duration budget) {
+    final var words = new long[(2 * rules.getTiles() + Long.SIZE - 1) / Long.SIZE];
+    System.arraycopy(board, 0, words, 0, Math.min(board.length, words.length));
+    final var root = side == 1 ? hash ^ HOME_TO_MOVE : hash;
+    final var found = new AtomicLong(-1);
+    final var shallow =
+        new Worker(
+            rules, keys, words.clone(), root, side, 0, 1, Long.MAX_VALUE, new AtomicBoolean());
+    final var first = shallow.nextCandidate(0);
+    if (first < 0 || shallow.nextCandidate(first + 1) < 0) {
+      return CompletableFuture.completedFuture(first);
+    }
+    shallow.search(found);
+    final var deadline = System.nanoTime() + budget.toNanos();
+    final var stop = new AtomicBoolean();
+    final var answer = new CompletableFuture<Integer>();
+    answer.whenComplete((move, e) -> stop.set(true));
+    try {
+      for (var id = 0; id < pool.getParallelism(); id++) {
+        final var worker =
+            new Worker(rules, keys, words.clone(), root, side, id, MAX_PLY, deadline, stop);
+        pool.execute(
+            () -> {
+              worker.search(found);
+              if (worker.id == 0) {
+                answer.complete((int) (found.get() & MOVE));
+              }
+            });
+      }
+    } catch (final RejectedExecutionException e) {
+      answer.complete((int) (found.get() & MOVE));
+    }
+    CompletableFuture.delayedExecutor(budget.toNanos() + GRACE, TimeUnit.NANOSECONDS)
+        .execute(() -> answer.complete((int) (found.get() & MOVE)));
+    return answer;
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+  }
+
+  private static boolean has(final long[] board, final int bit) {
+    return (board[bit >>> 6] & 1L << bit) != 0;
+  }
+
+  /**
+   * Retrieves a range of up to a word's bits from a board, in the same fashion as {@link
+   * com.dhsrocha.kata.tictactoe.vo.Bitboard#bits(int, int)}.
+   *
+   * @param board Board in bitboard notation.
+   * @param from Index of the range's first bit.
+   * @param length Number of bits, from {@code 1} to {@code 64}.
+   * @return The bits, right-aligned.
+   */
+  public static long bits(@NonNull final long[] board, final int from, final int length) {
+    final var index = from >>> 6;
+    final var offset = from & Long.SIZE - 1;
+    var value = index < board.length ? board[index] >>> offset : 0;
+    if (offset != 0 && index + 1 < board.length) {
+      value |= board[index + 1] << Long.SIZE - offset;
+    }
+    return length == Long.SIZE ? value : value & (1L << length) - 1;
+  }
+
+  /**
+   * Rule set a {@link Search} can play. Boards are laid out as {@link
+   * com.dhsrocha.kata.tictactoe.vo.Bitboard} words, with away's tiles first and home's right after.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  public interface Rules {
+
+    /**
+     * Measures a side's layout in tiles, which is also the bit offset of the home side.
+     *
+     * @return Number of tiles.
+     */
+    int getTiles();
+
+    /**
+     * Checks if the side to move may place a piece on a tile and if it is worth searching.
+     *
+     * @param board Board in bitboard notation.
+     * @param tile Tile's index on a side.
+     * @return If the tile is a move to search.
+     */
+    boolean isCandidate(@NonNull final long[] board, final int tile);
+
+    /**
+     * Checks if a placed piece completes a winning line for its side.
+     *
+     * @param board Board in bitboard notation, with the piece already placed.
+     * @param bit Piece's bit index, which tells its side.
+     * @return If the piece's side wins.
+     */
+    boolean isWin(@NonNull final long[] board, final int bit);
+
+    /**
+     * Estimates how good a board not over yet is for a side.
+     *
+     * @param board Board in bitboard notation.
+     * @param side Index of the side: {@code 0} for away and {@code 1} for home.
+     * @return The higher, the better for the side. Must stay under a million in magnitude.
+     */
+    int evaluate(@NonNull final long[] board, final int side);
+  }
+
+  /** Searches a position by iterative deepening, on its own copy of the board. */
+  private final class Worker {
+
+    private final Rules rules;
+    private final Bitboard.Zobrist keys;
+    private final long[] board;
+    /** Root position's hash, home to move included. */
+    private final long root;
+
+    private final int side;
+    private final int id;
+    private final int limit;
+    private final long deadline;
+    private final AtomicBoolean stop;
+    private final int tiles;
+    /** Candidate tiles, indexed by the ply. */
+    private final int[][] moves;
+
+    private long nodes;
+    private boolean aborted;
+    private int rootMove = -1;
+
+    Worker(
+        final Rules rules,
+        final Bitboard.Zobrist keys,
+        final long[] board,
+        final long root,
+        final int side,
+        final int id,
+        final int limit,
+        final long deadline,
+        final AtomicBoolean stop) {
+      this.rules = rules;
+      this.keys = keys;
+      this.board = board;
+      this.root = root;
+      this.side = side;
+      this.id = id;
+      this.limit = limit;
+      this.deadline = deadline;
+      this.stop = stop;
+      tiles = rules.getTiles();
+      moves = new int[limit][tiles];
+    }
+
+    /**
+     * Deepens the search until it is over, stopped or out of time, publishing the root move of
+     * every completed iteration if it is the deepest one so far.
+     */
+    void search(final AtomicLong found) {
+      var free = tiles;
+      for (var bit = 0; bit < 2 * tiles; bit++) {
+        if (has(board, bit)) {
+          free--;
+        }
+      }
+      final var deepest = Math.min(limit, Math.max(1, free));
+      for (var depth = Math.min(1 + id % 2, deepest); depth <= deepest; depth++) {
+        final var score = negamax(depth, 0, -WIN, WIN, side, root);
+        if (aborted || rootMove < 0) {
+          break;
+        }
+        found.accumulateAndGet((long) depth << Integer.SIZE | rootMove, Math::max);
+        if (Math.abs(score) > WIN - MAX_PLY) {
+          break;
+        }
+      }
+      if (id == 0) {
+        stop.set(true);
+      }
+    }
+
+    /** Finds the first candidate tile from the provided one on, or {@code -1} if there is none. */
+    int nextCandidate(final int from) {
+      for (var tile = from; tile < tiles; tile++) {
+        if (rules.isCandidate(board, tile)) {
+          return tile;
+        }
+      }
+      return -1;
+    }
+
+    private int negamax(
+        final int depth,
+        final int ply,
+        final int alpha,
+        final int beta,
+        final int mover,
+        final long hash) {
+      if ((++nodes & CHECK) == 0 && (stop.get() || System.nanoTime() > deadline)) {
+        aborted = true;
+      }
+      if (aborted) {
+        return 0;
+      }
+      final var slot = (int) hash & mask;
+      final var data = table[2 * slot + 1];
+      var hashMove = -1;
+      if ((table[2 * slot] ^ data) == hash) {
+        hashMove = (int) (data & 0xFFFF) - 1;
+        final var score = fromTable((int) (data >>> SCORE), ply);
+        final var bound = (int) (data >>> BOUND & 3);
+        if (ply > 0
+            && (int) (data >>> DEPTH & 0xFF) >= depth
+            && (bound == EXACT
+                || bound == LOWER && score >= beta
+                || bound == UPPER && score <= alpha)) {
+          return score;
+        }
+      }
+      if (depth == 0 || ply == limit) {
+        return rules.evaluate(board, mover);
+      }
+      final var count = candidates(ply, hashMove);
+      if (count == 0) {
+        return 0;
+      }
+      var low = alpha;
+      var best = -WIN;
+      var bestMove = -1;
+      for (var index = 0; index < count; index++) {
+        final var tile = moves[ply][index];
+        final var bit = mover * tiles + tile;
+        board[bit >>> 6] ^= 1L << bit;
+        final var next = hash ^ keys.key(bit) ^ HOME_TO_MOVE;
+        final var score =
+            rules.isWin(board, bit)
+                ? WIN - ply
+                : -negamax(depth - 1, ply + 1, -beta, -low, 1 - mover, next);
+        board[bit >>> 6] ^= 1L << bit;
+        if (aborted) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          bestMove = tile;
+          if (score > low) {
+            low = score;
+            if (low >= beta) {
+              break;
+            }
+          }
+        }
+      }
+      if (ply == 0) {
+        rootMove = bestMove;
+      }
+      final var bound = best <= alpha ? UPPER : best >= beta ? LOWER : EXACT;
+      final var stored =
+          (long) bound << BOUND
+              | (long) Math.min(depth, 0xFF) << DEPTH
+              | (toTable(best, ply) & 0xFFFFFFFFL) << SCORE
+              | bestMove + 1;
+      table[2 * slot] = hash ^ stored;
+      table[2 * slot + 1] = stored;
+      return best;
+    }
+
+    /**
+     * Lists the candidate tiles for a ply: the hash move first and then the others, rotated by the
+     * worker's id so workers take different paths.
+     */
+    private int candidates(final int ply, final int hashMove) {
+      final var list = moves[ply];
+      var count = 0;
+      if (hashMove >= 0 && hashMove < tiles && rules.isCandidate(board, hashMove)) {
+        list[count++] = hashMove;
+      }
+      final var first = count;
+      for (var tile = 0; tile < tiles; tile++) {
+        if (tile != hashMove && rules.isCandidate(board, tile)) {
+          list[count++] = tile;
+        }
+      }
+      final var others = count - first;
+      if (id > 0 && others > 1) {
+        final var shift = id % others;
+        for (var index = 0; index < shift; index++) {
+          final var head = list[first];
+          System.arraycopy(list, first + 1, list, first, others - 1);
+          list[count - 1] = head;
+        }
+      }
+      return count;
+    }
+
+    /** Makes a win's score relative to the node it is stored at. */
+    private int toTable(final int score, final int ply) {
+      return score > WIN - MAX_PLY ? score + ply : score < MAX_PLY - WIN ? score - ply : score;
+    }
+
+    /** Makes a stored win's score relative to the root again. */
+    private int fromTable(final int score, final int ply) {
+      return score > WIN - MAX_PLY ? score - ply : score < MAX_PLY - WIN ? score + ply : score;
+    }
+  }
+}
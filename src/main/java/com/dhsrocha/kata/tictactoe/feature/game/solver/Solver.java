@@ -0,0 +1,143 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import lombok.NonNull;
+
+/**
+ * Perfect-play solver for 3x3 boards, by negamax over every position reachable from the empty one.
+ *
+ * <p>Positions are seen from the side to move: its tiles and its opponent's, each in 9 bits. Their
+ * values are kept in a transposition table indexed by the position in base 3, reduced to its
+ * canonical orientation among its 8 {@link Bitboard.Symmetry symmetries}, so it takes a {@code
+ * byte} array of 3<sup>9</sup> entries, with no boxing nor hashing. The whole tree is solved once,
+ * at construction, and then any query is a handful of array reads. The table is never written
+ * afterwards, so queries are safe from any thread: positions out of the tree, which cannot come
+ * from legal play, are searched on each query instead.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Negamax">Technical reference</a>
+ */
+public final class Solver implements PerfectPlay {
+
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+  /** Covers all tiles on a side. */
+  private static final int FULL = (1 << TILES) - 1;
+  /** Offset of a stored value, so zero means not computed yet. */
+  private static final int STORED = 64;
+
+  /** Winning lines' lookup for a side's arrangement. */
+  private final Bitboard.WinTable wins;
+  /** Side's arrangement in base 3, with each tile as a digit. */
+  private final int[] ternary = new int[FULL + 1];
+  /** Values of solved positions, indexed by their canonical position in base 3. */
+  private final byte[] values;
+  /** Number of distinct positions solved. */
+  private final int solved;
+
+  /**
+   * Builds the solver and solves every position reachable from the empty board.
+   *
+   * @param wins Winning lines' lookup for a side's arrangement.
+   */
+  public Solver(@NonNull final Bitboard.WinTable wins) {
+    this.wins = wins;
+    var size = 1;
+    for (var tile = 0; tile < TILES; tile++) {
+      size *= 3;
+    }
+    values = new byte[size];
+    for (var side = 0; side <= FULL; side++) {
+      for (var tile = 0; tile < TILES; tile++) {
+        if ((side & 1 << tile) != 0) {
+          ternary[side] += pow3(tile);
+        }
+      }
+    }
+    negamax(0, 0, true);
+    var count = 0;
+    for (final var value : values) {
+      count += value != 0 ? 1 : 0;
+    }
+    solved = count;
+  }
+
+  @Override
+  public int valueOf(final int mover, final int opponent) {
+    return negamax(mover & FULL, opponent & FULL, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The lowest tile is preferred among equally valued ones.
+   */
+  @Override
+  public int bestMove(final int mover, final int opponent) {
+    if (wins.test(mover) || wins.test(opponent)) {
+      return -1;
+    }
+    var best = -1;
+    var bestValue = Integer.MIN_VALUE;
+    for (var free = ~(mover | opponent) & FULL; free != 0; free &= free - 1) {
+      final var tile = Integer.numberOfTrailingZeros(free);
+      final var value = -negamax(opponent, mover | 1 << tile, false);
+      if (value > bestValue) {
+        best = tile;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+
+  /** {@inheritDoc} Those are the ones held in the transposition table. */
+  @Override
+  public int size() {
+    return solved;
+  }
+
+  /**
+   * Values a position by negamax, reading solved ones from the table.
+   *
+   * @param mover Side to move's tiles.
+   * @param opponent Its opponent's tiles.
+   * @param store If the values found are written in the table, only while constructing it.
+   * @return Position's value for the side to move.
+   */
+  private int negamax(final int mover, final int opponent, final boolean store) {
+    final var free = ~(mover | opponent) & FULL;
+    if (wins.test(opponent)) {
+      return -(Integer.bitCount(free) + 1);
+    }
+    if (free == 0) {
+      return 0;
+    }
+    final var key = canonical(mover, opponent);
+    if (values[key] != 0) {
+      return values[key] - STORED;
+    }
+    var best = Integer.MIN_VALUE;
+    for (var tiles = free; tiles != 0; tiles &= tiles - 1) {
+      best = Math.max(best, -negamax(opponent, mover | Integer.lowestOneBit(tiles), store));
+    }
+    if (store) {
+      values[key] = (byte) (best + STORED);
+    }
+    return best;
+  }
+
+  /** Indexes a position by its {@link Bitboard.Symmetry canonical} orientation, in base 3. */
+  private int canonical(final int mover, final int opponent) {
+    final var state = mover | (long) opponent << TILES;
+    final var canonical = Bitboard.Symmetry.of(state).apply(state);
+    return ternary[(int) canonical & FULL] + 2 * ternary[(int) (canonical >>> TILES)];
+  }
+
+  private static int pow3(final int exponent) {
+    var power = 1;
+    for (var i = 0; i < exponent; i++) {
+      power *= 3;
+    }
+    return power;
+  }
+}
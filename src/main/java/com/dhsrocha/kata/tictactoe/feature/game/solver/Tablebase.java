@@ -0,0 +1,161 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Perfect-play answers for 3x3 boards, read from a file {@link FileChannel#map mapped} in memory.
+ *
+ * <p>The file holds a header and then two bytes for every position in base 3, as {@link Solver}
+ * indexes them: its value, offset so zero means no entry, and its best tile, both in the position's
+ * {@link Bitboard.Symmetry canonical} orientation. Only canonical positions have an entry. A query
+ * is then an index computation and a read off the heap, and every JVM on the host mapping the same
+ * file shares its pages.
+ *
+ * <p>The file is written from a {@link Solver} the first time it is opened, through a temporary
+ * file moved in place, so JVMs starting at once never read a partial one.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+public final class Tablebase implements PerfectPlay {
+
+  /** File's leading bytes, as {@code TTTB}. */
+  private static final int MAGIC = 0x5454_5442;
+  /** File layout's version. */
+  private static final int VERSION = 1;
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+  /** Covers all tiles on a side. */
+  private static final int FULL = (1 << TILES) - 1;
+  /** Positions in base 3. */
+  private static final int POSITIONS = 19_683;
+  /** Bytes of the header: magic, version, positions and positions with an entry. */
+  private static final int HEADER = 4 * Integer.BYTES;
+  /** Bytes of an entry. */
+  private static final int ENTRY = 2;
+  /** Offset of a stored value, so zero means no entry. */
+  private static final int STORED = 64;
+
+  /** Side's arrangement in base 3, with each tile as a digit. */
+  private static final int[] TERNARY = new int[FULL + 1];
+
+  static {
+    for (var side = 0; side <= FULL; side++) {
+      for (int tile = 0, digit = 1; tile < TILES; tile++, digit *= 3) {
+        TERNARY[side] += (side >>> tile & 1) * digit;
+      }
+    }
+  }
+
+  /** The mapped file. */
+  private final ByteBuffer entries;
+  /** Number of positions with an entry. */
+  private final int size;
+
+  private Tablebase(final ByteBuffer entries) {
+    if (entries.capacity() != HEADER + ENTRY * POSITIONS
+        || entries.getInt(0) != MAGIC
+        || entries.getInt(Integer.BYTES) != VERSION
+        || entries.getInt(2 * Integer.BYTES) != POSITIONS) {
+      throw new IllegalStateException("Tablebase file is not in the expected layout.");
+    }
+    this.entries = entries;
+    size = entries.getInt(3 * Integer.BYTES);
+  }
+
+  /**
+   * Opens a tablebase file, writing it first if it does not exist yet.
+   *
+   * @param path The file's location.
+   * @param solver Provides the solver to write the file from, only called if it is missing.
+   * @return The tablebase, mapped in memory.
+   * @throws UncheckedIOException if the file cannot be written or mapped.
+   * @throws IllegalStateException if the file is not a tablebase.
+   */
+  public static @NonNull Tablebase open(
+      @NonNull final Path path, @NonNull final Supplier<Solver> solver) {
+    try {
+      if (Files.notExists(path)) {
+        write(path, solver.get());
+      }
+      try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        return new Tablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes every canonical position's answers from a solver to a tablebase file.
+   *
+   * @param path The file's location. Replaced if it exists.
+   * @param solver The solver to answer positions from.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void write(@NonNull final Path path, @NonNull final Solver solver)
+      throws IOException {
+    final var buffer = ByteBuffer.allocate(HEADER + ENTRY * POSITIONS);
+    var size = 0;
+    for (var mover = 0; mover <= FULL; mover++) {
+      for (var opponent = ~mover & FULL; ; opponent = opponent - 1 & ~mover & FULL) {
+        final var state = mover | (long) opponent << TILES;
+        if (Bitboard.Symmetry.of(state).apply(state) == state) {
+          final var at = HEADER + ENTRY * (TERNARY[mover] + 2 * TERNARY[opponent]);
+          buffer.put(at, (byte) (solver.valueOf(mover, opponent) + STORED));
+          buffer.put(at + 1, (byte) solver.bestMove(mover, opponent));
+          size++;
+        }
+        if (opponent == 0) {
+          break;
+        }
+      }
+    }
+    buffer.putInt(0, MAGIC).putInt(Integer.BYTES, VERSION);
+    buffer.putInt(2 * Integer.BYTES, POSITIONS).putInt(3 * Integer.BYTES, size);
+    final var parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    final var temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+    Files.move(
+        temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Override
+  public int valueOf(final int mover, final int opponent) {
+    final var state = (mover & FULL) | (long) (opponent & FULL) << TILES;
+    return entries.get(indexOf(Bitboard.Symmetry.of(state).apply(state))) - STORED;
+  }
+
+  @Override
+  public int bestMove(final int mover, final int opponent) {
+    final var state = (mover & FULL) | (long) (opponent & FULL) << TILES;
+    final var symmetry = Bitboard.Symmetry.of(state);
+    final int tile = entries.get(indexOf(symmetry.apply(state)) + 1);
+    return tile < 0 ? -1 : symmetry.inverse().tile(tile);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** Locates a canonical position's entry. */
+  private static int indexOf(final long canonical) {
+    final var mover = TERNARY[(int) canonical & FULL];
+    return HEADER + ENTRY * (mover + 2 * TERNARY[(int) (canonical >>> TILES) & FULL]);
+  }
+}
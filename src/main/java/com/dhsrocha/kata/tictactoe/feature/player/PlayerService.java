@@ -40,6 +40,15 @@ public abstract class PlayerService implements BaseService<Search, Player> {
    */
   abstract @NonNull Player save(@NonNull final Player toCreate);
 
+  /**
+   * Retrieves the {@link Player} with the provided one's username, persisting the provided one if
+   * there is none. Meant for players the application registers on its own.
+   *
+   * @param toRegister Resource to persist if its username is not taken yet.
+   * @return The registered resource.
+   */
+  public abstract @NonNull Player register(@NonNull final Player toRegister);
+
   /**
    * Updates a {@link Player} resource, if exists.
    *
@@ -120,6 +129,13 @@ public abstract class PlayerService implements BaseService<Search, Player> {
       return p;
     }
 
+    @Override
+    public @NonNull Player register(@NonNull final Player toRegister) {
+      return repository
+          .findOne((r, cq, cb) -> cb.equal(r.get(Search.USERNAME), toRegister.getUsername()))
+          .orElseGet(() -> save(toRegister));
+    }
+
     @Override
     public boolean update(@NonNull final UUID id, @NonNull final Player toUpdate) {
       return find(id).map(update(toUpdate)).isPresent();
@@ -8,11 +8,16 @@ import com.dhsrocha.kata.tictactoe.vo.Bitboard.Processed;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.net.URI;
 import java.util.Comparator;
+import java.util.Locale;
+import javax.persistence.Column;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +26,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.annotation.PathVariable;
 
 /**
@@ -30,6 +37,11 @@ import org.springframework.web.bind.annotation.PathVariable;
  */
 @Schema(description = "Represents an event which depicts the state of a Game in time.")
 @Entity
+@Table(
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = Turn.GAME_SEQ,
+            columnNames = {"game_id", "seq"}))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -42,6 +54,8 @@ public class Turn extends Domain implements Comparable<Turn> {
   public static final String TAG = "turns";
   /** Id to use on {@link PathVariable}'s {@link URI}. */
   public static final String ID = "turnId";
+  /** Unique index of a {@link Turn}'s {@link #seq} within its {@link Game}. */
+  static final String GAME_SEQ = "uk_turn_game_seq";
   /** Comparison criteria. */
   private static final Comparator<Turn> COMPARATOR =
       Comparator.comparing(Turn::getGame)
@@ -53,6 +67,10 @@ public class Turn extends Domain implements Comparable<Turn> {
   @Schema(description = "Game where this action is taken.")
   @ManyToOne(optional = false)
   private @NotNull @NonNull Game game;
+  /** Order of this action in its {@link Game}, from {@code 1} and with no gap. */
+  @Schema(description = "Order of this action in its Game, from 1 and with no gap.", example = "1")
+  @Column(nullable = false, updatable = false)
+  private @Positive int seq;
   /** Person who did the action. */
   @Schema(description = "Person who did the action.")
   @ManyToOne(optional = false)
@@ -61,6 +79,9 @@ public class Turn extends Domain implements Comparable<Turn> {
   @Schema(description = "Represents the game board position in bitboard notation.")
   @Embedded
   private @NotNull @NonNull Bitboard state;
+  /** Zobrist hash of {@link #state}, under its {@link Game}'s type keys. */
+  @Schema(description = "Zobrist hash of the board position, under its game type's keys.")
+  private long hash;
   /** Last computed turn from current one. */
   @Schema(hidden = true)
   private transient @Transient Turn last;
@@ -71,7 +92,44 @@ public class Turn extends Domain implements Comparable<Turn> {
    * @return State with its validity checked.
    */
   public final Processed validState() {
-    return state.processWith(last.getState(), game.getType());
+    return validState(game.getType());
+  }
+
+  /**
+   * Processes its internal state by checking for its validity with the provided engine, and keeps
+   * its {@link #hash}, updated from the last turn's one.
+   *
+   * @param validator Validator engine, in place of the {@link Game}'s own rule set.
+   * @return State with its validity checked.
+   */
+  public final Processed validState(@NonNull final Bitboard.Validator validator) {
+    final var processed = state.processWith(last.getState(), last.getHash(), validator);
+    hash = processed.getHash();
+    return processed;
+  }
+
+  /**
+   * Checks if a failure comes from a {@link Turn} taking a {@link #seq} already taken in its {@link
+   * Game}, as when concurrent moves are submitted for the same ply.
+   *
+   * @param failure Failure raised while writing {@link Turn} entities.
+   * @return If it is a violation of {@link #GAME_SEQ}, rather than of any other constraint.
+   */
+  public static boolean isSeqTaken(@NonNull final DataIntegrityViolationException failure) {
+    return failure.getCause() instanceof ConstraintViolationException cause
+        && null != cause.getConstraintName()
+        && cause.getConstraintName().toLowerCase(Locale.ROOT).contains(GAME_SEQ);
+  }
+
+  /**
+   * Hashes its internal state from scratch, for a turn with no last one to update it from.
+   *
+   * @return The invoking instance.
+   */
+  final Turn hashed() {
+    final Bitboard.Validator type = game.getType();
+    hash = type.zobrist().hash(state);
+    return this;
   }
 
   @Override
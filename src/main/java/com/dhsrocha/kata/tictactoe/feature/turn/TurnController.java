@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.net.URL;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Represents a event which depicts the state of a Game in time.
@@ -43,6 +45,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @AllArgsConstructor
 class TurnController extends BaseController<TurnService.Search, Turn> {
 
+  static final String MOVE = "move";
+
   private final PagedResourcesAssembler<Turn> assembler;
   private final TurnService service;
 
@@ -92,6 +96,7 @@ class TurnController extends BaseController<TurnService.Search, Turn> {
    *     </ul>
    *
    * @param bitboard Representation of Game's state in bitboard notation.
+   * @param extension Following 64-bit words of the state, for boards larger than a single one.
    * @return Resource's location URI in proper header, if not finished the game.
    */
   @ApiResponse(
@@ -127,11 +132,67 @@ class TurnController extends BaseController<TurnService.Search, Turn> {
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
   ResponseEntity<?> create(
-      Authentication auth, @RequestParam final UUID gameId, @RequestParam final long bitboard) {
-    final var created =
-        service.create(gameId, UUID.fromString(auth.getName()), Bitboard.of(bitboard));
+      Authentication auth,
+      @RequestParam final UUID gameId,
+      @RequestParam final long bitboard,
+      @RequestParam(required = false) final long[] extension) {
+    final var state = null == extension ? Bitboard.of(bitboard) : Bitboard.of(bitboard, extension);
+    final var created = service.create(gameId, UUID.fromString(auth.getName()), state);
+    return createdOf(created, ServletUriComponentsBuilder.fromCurrentRequest());
+  }
+
+  /**
+   * Creates a Turn resource by placing the requester's piece on a single tile of the board, as it
+   * was on the Game's last turn, and attaches it to the Game in progress the requester is in.
+   *
+   * @param auth Requesting player's external identification, as on the bitboard submission.
+   * @param gameId Game's external identification, as on the bitboard submission.
+   * @param tile Tile's index, within a side:
+   *     <ul>
+   *       <li>Must be on the board.
+   *       <li>Must not be taken by any side.
+   *     </ul>
+   *
+   * @return Resource's location URI in proper header, if not finished the game.
+   */
+  @ApiResponse(
+      content = @Content,
+      responseCode = "201",
+      description = "Turn created.",
+      headers =
+          @Header(
+              name = HttpHeaders.LOCATION,
+              description = "Resource's location, if sending game is not finished.",
+              schema = @Schema(implementation = URL.class)))
+  @ApiResponse(
+      content = @Content,
+      responseCode = "204",
+      description = "Turn finished the sending Game.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "400",
+      description = "Tile is out of the board or already taken.")
+  @ApiResponse(content = @Content, responseCode = "404", description = "Game not found.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "409",
+      description = "Game is not in in progress stage.")
+  @ApiResponse(
+      content = @Content,
+      responseCode = "409",
+      description = "Same requesting player in game's last action.")
+  @PostMapping(MOVE)
+  @ResponseStatus(HttpStatus.CREATED)
+  ResponseEntity<?> move(
+      Authentication auth, @RequestParam final UUID gameId, @RequestParam final int tile) {
+    final var created = service.move(gameId, UUID.fromString(auth.getName()), tile);
+    return createdOf(created, ServletUriComponentsBuilder.fromCurrentContextPath().path(Turn.TAG));
+  }
+
+  /** Responds with the created Turn's location, or with no content if it finished the Game. */
+  private static ResponseEntity<?> createdOf(
+      final Optional<UUID> created, final UriComponentsBuilder uri) {
     if (created.isPresent()) {
-      final var uri = ServletUriComponentsBuilder.fromCurrentRequest();
       final var location = uri.pathSegment(String.valueOf(created.get())).build().toUri();
       return ResponseEntity.created(location).build();
     }
@@ -1,6 +1,5 @@
 package com.dhsrocha.kata.tictactoe.feature.turn;
 
-import static com.dhsrocha.kata.tictactoe.feature.game.Game.Stage.IN_PROGRESS;
 import static com.dhsrocha.kata.tictactoe.system.ExceptionCode.PLAYER_NOT_IN_GAME;
 import static com.dhsrocha.kata.tictactoe.system.ExceptionCode.TURN_LAST_SAME_PLAYER;
 
@@ -14,7 +13,6 @@ import com.dhsrocha.kata.tictactoe.feature.turn.TurnService.Search;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -22,10 +20,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -55,21 +52,45 @@ public abstract class TurnService implements BaseService<Search, Turn> {
    *     </ul>
    *
    * @param bitboard Representation of {@link Game}'s state in {@link Bitboard} notation.
-   * @return {@link Turn}'s external identification, if not finished the game.
+   * @return {@link Turn}'s external identification, if not finished the game. If the opponent is
+   *     the bot {@link Player}, its answering {@link Turn} is created along and may finish it, or
+   *     created once found, if the {@link Game}'s type is answered by a time-bounded search.
    */
   abstract @NonNull Optional<UUID> create(
       @NonNull final UUID gameId,
       @NonNull final UUID requesterId,
       @NonNull final Bitboard bitboard);
 
+  /**
+   * Creates a {@link Turn} resource from a single tile, placed on the board as it was on the last
+   * {@link Turn}, and attaches it to the {@link Game} in progress the requester is in.
+   *
+   * @param gameId {@link Game}'s external identification, as in {@link #create(UUID, UUID,
+   *     Bitboard)}.
+   * @param requesterId Requesting {@link Player}'s external identification, as in {@link
+   *     #create(UUID, UUID, Bitboard)}.
+   * @param tile Tile's index, within a side:
+   *     <ul>
+   *       <li>Must be on the board.
+   *       <li>Must not be taken by any side.
+   *     </ul>
+   *
+   * @return {@link Turn}'s external identification, if not finished the game, as in {@link
+   *     #create(UUID, UUID, Bitboard)}.
+   */
+  abstract @NonNull Optional<UUID> move(
+      @NonNull final UUID gameId, @NonNull final UUID requesterId, final int tile);
+
   /** {@inheritDoc} */
   @SuppressWarnings("unused")
+  @Slf4j
   @Validated
   @Service
   @AllArgsConstructor
   private static class Impl extends TurnService {
 
-    private static final Sort LAST_CREATED = Sort.by(Direction.DESC, Domain.CREATED_AT);
+    /** Board before the first {@link Turn}. */
+    private static final Bitboard EMPTY = Bitboard.of(0);
 
     private final TurnRepository repository;
     private final GameService gameService;
@@ -82,8 +103,8 @@ public abstract class TurnService implements BaseService<Search, Turn> {
           (r, cq, cb) ->
               cb.or(
                   cb.conjunction(),
-                  cb.equal(r.get(Search.GAME), criteria.gameId),
-                  cb.equal(r.get(Search.PLAYER), criteria.playerId)),
+                  cb.equal(r.get(Search.GAME).get(Domain.EXTERNAL_ID), criteria.gameId),
+                  cb.equal(r.get(Search.PLAYER).get(Domain.EXTERNAL_ID), criteria.playerId)),
           pageable);
     }
 
@@ -99,32 +120,97 @@ public abstract class TurnService implements BaseService<Search, Turn> {
         @NonNull final UUID gameId,
         @NonNull final UUID requester,
         @NonNull final Bitboard bitboard) {
-      final var game = gameService.find(gameId).orElseThrow(ExceptionCode.GAME_NOT_FOUND);
-      ExceptionCode.GAME_NOT_IN_PROGRESS.unless(game.getStage() == IN_PROGRESS);
+      return submit(gameId, requester, (game, player, last) -> bitboard);
+    }
 
-      final var player = playerService.find(requester).orElseThrow(ExceptionCode.PLAYER_NOT_FOUND);
-      PLAYER_NOT_IN_GAME.unless(game.getHome().equals(player) || game.getAway().equals(player));
+    @Override
+    @NonNull
+    Optional<UUID> move(@NonNull final UUID gameId, @NonNull final UUID requester, final int tile) {
+      return submit(gameId, requester, (game, p, last) -> gameService.place(game, p, last, tile));
+    }
 
-      final var turns =
-          repository.findAll((r, cq, cb) -> cb.equal(r.get(Search.GAME), game), LAST_CREATED);
+    /** Creates a {@link Turn} with the state provided from the last one's board. */
+    private Optional<UUID> submit(
+        @NonNull final UUID gameId, @NonNull final UUID requester, @NonNull final Next next) {
+      return gameService.play(gameId, game -> turnOf(game, requester, next)).flatMap(this::answer);
+    }
 
-      if (turns.isEmpty()) {
-        final var first = Turn.builder().state(bitboard).game(game).player(player).build();
-        return Optional.of(repository.save(first).getExternalId());
+    /**
+     * Builds a {@link Turn} on its {@link Game}, as loaded along with its players and last board,
+     * following its last one.
+     */
+    private Turn turnOf(
+        @NonNull final Game game, @NonNull final UUID requester, @NonNull final Next next) {
+      final var player = playerOf(game, requester);
+
+      final var lastMover = game.getLastMover();
+      if (null == lastMover) {
+        final var state = next.of(game, player, EMPTY);
+        return Turn.builder().seq(1).state(state).game(game).player(player).build().hashed();
       }
 
-      final var max = turns.stream().max(Comparator.comparing(Domain::getCreatedAt));
+      TURN_LAST_SAME_PLAYER.unless(!lastMover.equals(player));
       final var last =
-          max.filter(t -> !t.getPlayer().equals(player)).orElseThrow(TURN_LAST_SAME_PLAYER);
-      final var current =
-          Turn.builder().last(last).state(bitboard).game(game).player(player).build();
+          Turn.builder()
+              .state(game.getBoard())
+              .hash(game.getHash())
+              .seq(game.getLastSeq())
+              .game(game)
+              .player(lastMover)
+              .build();
+      final var state = next.of(game, player, last.getState());
+      return Turn.builder()
+          .last(last)
+          .seq(last.getSeq() + 1)
+          .state(state)
+          .game(game)
+          .player(player)
+          .build();
+    }
 
-      if (gameService.calculate(current)) {
-        repository.deleteAll(turns);
+    /**
+     * Creates the bot's answer to an applied {@link Turn}, if any, unless it ends the game. A
+     * searched answer is applied once it is found, with no request thread waiting for it.
+     */
+    private Optional<UUID> answer(@NonNull final Turn applied) {
+      final var reply = gameService.reply(applied);
+      final var gameId = applied.getGame().getExternalId();
+      if (!reply.isDone()) {
+        reply
+            .thenAcceptAsync(opt -> opt.ifPresent(r -> gameService.play(gameId, game -> r)))
+            .exceptionally(
+                e -> {
+                  log.warn("Bot's answer not applied on game {}.", gameId, e);
+                  return null;
+                });
+        return Optional.of(applied.getExternalId());
+      }
+      final var turn = reply.join();
+      if (turn.isPresent() && gameService.play(gameId, game -> turn.get()).isEmpty()) {
         return Optional.empty();
       }
-      return Optional.of(repository.save(current).getExternalId());
+      return Optional.of(applied.getExternalId());
     }
+
+    /** Picks the requester among a {@link Game}'s players, looked up only if it is in neither. */
+    private Player playerOf(@NonNull final Game game, @NonNull final UUID requester) {
+      if (requester.equals(game.getHome().getExternalId())) {
+        return game.getHome();
+      }
+      if (null != game.getAway() && requester.equals(game.getAway().getExternalId())) {
+        return game.getAway();
+      }
+      playerService.find(requester).orElseThrow(ExceptionCode.PLAYER_NOT_FOUND);
+      throw PLAYER_NOT_IN_GAME.get();
+    }
+  }
+
+  /** Provides a {@link Turn}'s state from the last one's board. */
+  @FunctionalInterface
+  private interface Next {
+
+    @NonNull
+    Bitboard of(@NonNull Game game, @NonNull Player player, @NonNull Bitboard last);
   }
 
   /**
@@ -32,6 +32,12 @@ class ControllerAdvice extends ResponseEntityExceptionHandler {
     return ResponseEntity.status(422).body(error);
   }
 
+  @ExceptionHandler(ExceptionCode.Failure.class)
+  ResponseEntity<ErrorMessage> failure(ExceptionCode.Failure ex) {
+    final var error = new ErrorMessage(ex.getCode().name());
+    return ResponseEntity.status(ex.getStatus()).body(error);
+  }
+
   @ExceptionHandler(HttpClientErrorException.class)
   ResponseEntity<ErrorMessage> httpClientError(HttpClientErrorException ex) {
     final var error = new ErrorMessage(ex.getStatusText());
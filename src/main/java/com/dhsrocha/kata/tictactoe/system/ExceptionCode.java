@@ -5,16 +5,17 @@ import com.dhsrocha.kata.tictactoe.feature.player.Player;
 import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard;
 import java.util.function.Supplier;
-import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * Assembles the system's exception codes regarding a business concern.
  *
+ * <p>Each code throws the same {@link Failure}, allocated once along with it.
+ *
  * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
  */
-@AllArgsConstructor
 public enum ExceptionCode implements Supplier<RuntimeException> {
   // Player
   /** {@link Player} could not be found. */
@@ -33,6 +34,10 @@ public enum ExceptionCode implements Supplier<RuntimeException> {
   GAME_NOT_IN_AWAITS(HttpStatus.CONFLICT),
   /** {@link Game} is not in an in-progress stage. */
   GAME_NOT_IN_PROGRESS(HttpStatus.CONFLICT),
+  /** {@link Game}'s type has no bot to play against. */
+  GAME_WITHOUT_BOT(HttpStatus.CONFLICT),
+  /** {@link Game}'s type has no perfect-play analysis of its positions. */
+  GAME_WITHOUT_ANALYSIS(HttpStatus.BAD_REQUEST),
 
   // Turn
   /** {@link Turn} could not be found. */
@@ -41,6 +46,8 @@ public enum ExceptionCode implements Supplier<RuntimeException> {
   TURN_LAST_SAME_PLAYER(HttpStatus.CONFLICT),
   /** {@link Turn} cannot be calculated without its previous round. */
   TURN_IS_THE_FIRST(HttpStatus.CONFLICT),
+  /** {@link Turn} of the same order was already played on the {@link Game}. */
+  TURN_ALREADY_PLAYED(HttpStatus.CONFLICT),
 
   // Bitboard
   /** {@link Bitboard}'s has not any bit set. */
@@ -49,14 +56,27 @@ public enum ExceptionCode implements Supplier<RuntimeException> {
   BITBOARD_EXCESSIVE_BITS(HttpStatus.BAD_REQUEST),
   /** {@link Bitboard} has overlapping bits in its subsets. */
   BITBOARD_PIECE_IN_SAME_TILE(HttpStatus.BAD_REQUEST),
+  /** {@link Bitboard} has a piece with neither the board's bottom nor another piece under it. */
+  BITBOARD_FLOATING_PIECE(HttpStatus.BAD_REQUEST),
+  /** {@link Bitboard} has a piece out of the sub-board its last round sent it to. */
+  BITBOARD_WRONG_SUB_BOARD(HttpStatus.BAD_REQUEST),
+  /** {@link Bitboard}'s tile is out of the board or already taken. */
+  BITBOARD_TILE_UNAVAILABLE(HttpStatus.BAD_REQUEST),
   /** {@link Bitboard} has excessive number of bit between two contiguous bitboards. */
   BITBOARD_EXCESSIVE_BITS_PER_ROUND(HttpStatus.BAD_REQUEST);
   /** Corresponding HTTP status. */
   private final HttpStatus code;
+  /** The code's exception, shared by every throw. */
+  private final Failure failure;
+
+  ExceptionCode(@NonNull final HttpStatus code) {
+    this.code = code;
+    failure = new Failure(this);
+  }
 
   @Override
-  public final RuntimeException get() {
-    return new HttpClientErrorException(code, name());
+  public final Failure get() {
+    return failure;
   }
 
   /** Throws the indexed exception. */
@@ -68,11 +88,40 @@ public enum ExceptionCode implements Supplier<RuntimeException> {
    * Throws exception with the indexed HTTP status code if provided condition is not satisfied.
    *
    * @param test The test with condition.
-   * @throws HttpClientErrorException if the provided test is not satisfied.
+   * @throws Failure if the provided test is not satisfied.
    */
   public void unless(final boolean test) {
     if (!test) {
       throw get();
     }
   }
+
+  /**
+   * Exception thrown by an {@link ExceptionCode}. It is stackless and has no suppressed exceptions,
+   * so a single instance per code is safely thrown from any thread and rejecting a request costs as
+   * little as returning from it.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @Getter
+  public static final class Failure extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    /** The code it is thrown for. */
+    private final ExceptionCode code;
+
+    private Failure(@NonNull final ExceptionCode code) {
+      super(code.code.value() + " " + code.name(), null, false, false);
+      this.code = code;
+    }
+
+    /**
+     * Retrieves the code's HTTP status.
+     *
+     * @return The HTTP status.
+     */
+    public HttpStatus getStatus() {
+      return code.code;
+    }
+  }
 }
@@ -3,12 +3,20 @@ package com.dhsrocha.kata.tictactoe.vo;
 import com.dhsrocha.kata.tictactoe.feature.game.Game;
 import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.IntBinaryOperator;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Convert;
+import javax.persistence.Converter;
 import javax.persistence.Embeddable;
-import javax.validation.constraints.PositiveOrZero;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,6 +31,10 @@ import lombok.Setter;
  * <p>It acts like the game's engine and will assemble all rules and their corresponding
  * calculation.
  *
+ * <p>Boards not fitting in a single 64-bit word carry the following ones in {@link #extension}, so
+ * the state is read as one bit sequence: {@link #state} holds bits {@code 0} to {@code 63}, the
+ * first extension word holds bits {@code 64} to {@code 127} and so on.
+ *
  * @see <a href="https://en.wikipedia.org/wiki/Bitboard">Technical reference</a>
  * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
  */
@@ -30,15 +42,44 @@ import lombok.Setter;
 @Schema(description = "Representation of board's state of a Game in the moment a Turn is occurred.")
 @Data
 @Setter(AccessLevel.NONE)
-@AllArgsConstructor(staticName = "of")
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Bitboard implements Serializable, Comparable<Bitboard> {
 
+  /** Bits in a word. */
+  private static final int WORD = Long.SIZE;
+  /** Extension of single-word boards. */
+  private static final long[] NONE = {};
+  /** Board with no bit set. */
+  private static final Bitboard EMPTY = new Bitboard(0);
   /** Comparison criteria. */
-  private static final Comparator<Bitboard> COMPARATOR = Comparator.comparing(Bitboard::getState);
+  private static final Comparator<Bitboard> COMPARATOR =
+      Comparator.comparing(Bitboard::getState)
+          .thenComparing(Bitboard::getExtension, Arrays::compare);
   /** Value in bitboard notation. */
   @Schema(description = "State in bitboard notation.")
-  private @PositiveOrZero long state;
+  private long state;
+  /** Further words of the state, for boards not fitting in {@link #state} alone. */
+  @Schema(description = "Further 64-bit words of the state, for boards larger than 64 bits.")
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  @Convert(converter = Words.class)
+  private long[] extension = NONE;
+
+  private Bitboard(final long state, final long... extension) {
+    this.state = state;
+    this.extension = extension.length == 0 ? NONE : extension.clone();
+  }
+
+  /**
+   * Creates a bitboard from its words.
+   *
+   * @param state First word, in bitboard notation.
+   * @param extension Following words, if any. They are kept as provided, even if empty, so a type
+   *     whose board spans a fixed number of words keeps all of them.
+   * @return The bitboard.
+   */
+  public static Bitboard of(final long state, final long... extension) {
+    return new Bitboard(state, extension);
+  }
 
   @Override
   public int compareTo(@NonNull final Bitboard other) {
@@ -46,14 +87,156 @@ public class Bitboard implements Serializable, Comparable<Bitboard> {
   }
 
   /**
-   * Puts the instance under a validated state.
+   * Counts the words the state spans.
+   *
+   * @return Number of words, at least one.
+   */
+  public final int words() {
+    return 1 + extension.length;
+  }
+
+  /**
+   * Retrieves one of the state's words.
+   *
+   * @param index Word's index, where {@code 0} is {@link #state}.
+   * @return The word, or zero if the state does not span that far.
+   */
+  public final long word(final int index) {
+    if (index == 0) {
+      return state;
+    }
+    return index <= extension.length ? extension[index - 1] : 0;
+  }
+
+  /**
+   * Retrieves a range of up to a word's bits from the state.
+   *
+   * @param from Index of the range's first bit.
+   * @param length Number of bits, from {@code 1} to {@code 64}.
+   * @return The bits, right-aligned.
+   */
+  public final long bits(final int from, final int length) {
+    final var index = from >>> 6;
+    final var offset = from & WORD - 1;
+    var value = word(index) >>> offset;
+    if (offset != 0) {
+      value |= word(index + 1) << WORD - offset;
+    }
+    return length == WORD ? value : value & (1L << length) - 1;
+  }
+
+  /**
+   * Copies the state with a range of up to a word's bits replaced, spanning further words if the
+   * range goes past the last one.
+   *
+   * @param from Index of the range's first bit.
+   * @param length Number of bits, from {@code 1} to {@code 64}.
+   * @param value The range's new bits, right-aligned.
+   * @return The copy.
+   */
+  public final Bitboard with(final int from, final int length, final long value) {
+    final var mask = length == WORD ? -1L : (1L << length) - 1;
+    final var words = new long[Math.max(words(), (from + length + WORD - 1) / WORD)];
+    for (var index = 0; index < words.length; index++) {
+      words[index] = word(index);
+    }
+    final var index = from >>> 6;
+    final var offset = from & WORD - 1;
+    words[index] = words[index] & ~(mask << offset) | (value & mask) << offset;
+    if (offset + length > WORD) {
+      final var high = WORD - offset;
+      words[index + 1] = words[index + 1] & ~(mask >>> high) | (value & mask) >>> high;
+    }
+    return new Bitboard(words[0], Arrays.copyOfRange(words, 1, words.length));
+  }
+
+  /**
+   * Checks a single bit from the state.
+   *
+   * @param index Bit's index.
+   * @return If the bit is set.
+   */
+  public final boolean has(final int index) {
+    return (word(index >>> 6) & 1L << index) != 0;
+  }
+
+  /**
+   * Counts the bits set in the state.
+   *
+   * @return Number of bits set.
+   */
+  public final int bitCount() {
+    var count = Long.bitCount(state);
+    for (final var word : extension) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Measures the state up to its highest bit set, in the same fashion as {@link
+   * java.util.BitSet#length()}.
+   *
+   * @return Index of the highest bit set plus one, or zero if none is set.
+   */
+  public final int length() {
+    for (var index = extension.length; index > 0; index--) {
+      if (extension[index - 1] != 0) {
+        return index * WORD + WORD - Long.numberOfLeadingZeros(extension[index - 1]);
+      }
+    }
+    return WORD - Long.numberOfLeadingZeros(state);
+  }
+
+  /**
+   * Reduces a 3x3 board to the canonical one among its 8 orientations, as in {@link
+   * Symmetry#of(long)}.
    *
+   * @return The canonical board, with the same extension, if any.
+   */
+  public final Bitboard canonical() {
+    return new Bitboard(Symmetry.of(state).apply(state), extension);
+  }
+
+  /**
+   * Puts the instance under a validated state, hashing the last round's one from scratch.
+   *
+   * @param validator Validator engine.
+   * @return Bitboard in is valid and processed state.
+   */
+  public final Processed processWith(
+      @NonNull final Bitboard last, @NonNull final Validator validator) {
+    return processWith(last, validator.zobrist().hash(last), validator);
+  }
+
+  /**
+   * Puts the instance under a validated state, hashing it incrementally from the last round's one.
+   *
+   * @param last Last round's state from a {@link Game}'s board, in bitboard notation.
+   * @param lastHash {@link Zobrist} hash of the last round's state.
    * @param validator Validator engine.
    * @return Bitboard in is valid and processed state.
    */
   public final Processed processWith(
+      @NonNull final Bitboard last, final long lastHash, @NonNull final Validator validator) {
+    verify(last, validator).ifPresent(ExceptionCode::trigger);
+    return new Processed(last, lastHash, this, validator);
+  }
+
+  /**
+   * Checks the instance's validity against the last round's state, as {@link #processWith(Bitboard,
+   * Validator)} does, but with no exception thrown. Illegal moves are then cheap to find out, and
+   * turning the verdict into an HTTP error is left to the caller.
+   *
+   * @param last Last round's state from a {@link Game}'s board, in bitboard notation.
+   * @param validator Validator engine.
+   * @return The code the state is rejected with, or empty if it is valid.
+   */
+  public final Optional<ExceptionCode> verify(
       @NonNull final Bitboard last, @NonNull final Validator validator) {
-    return new Processed(last, state, validator);
+    return length() == 0
+        ? Optional.of(ExceptionCode.BITBOARD_UNSET_STATE)
+        : validator.validate(last, this);
   }
 
   /**
@@ -83,10 +266,291 @@ public class Bitboard implements Serializable, Comparable<Bitboard> {
    */
   public static final class Processed extends Bitboard {
 
-    private Processed(final Bitboard last, final long current, @NonNull final Validator validator) {
-      super(current);
-      ExceptionCode.BITBOARD_UNSET_STATE.unless(getState() != 0);
-      validator.validate(last, this).ifPresent(ExceptionCode::trigger);
+    /** {@link Zobrist} hash of the state, under the validator's keys. */
+    private final long hash;
+
+    /** Takes a state already {@link #verify(Bitboard, Validator) verified} as valid. */
+    private Processed(
+        final Bitboard last,
+        final long lastHash,
+        final Bitboard current,
+        @NonNull final Validator validator) {
+      super(current.state, current.extension);
+      hash = validator.zobrist().update(lastHash, last, this);
+    }
+
+    /** Trusts a single-word state as valid, with neither validation nor hashing. */
+    private Processed(final long state) {
+      super(state);
+      hash = 0;
+    }
+
+    /**
+     * Retrieves the state's {@link Zobrist} hash, updated from the last round's one by the pieces
+     * which changed only.
+     *
+     * @return The state's hash.
+     */
+    public long getHash() {
+      return hash;
+    }
+  }
+
+  /**
+   * Zobrist keys for a board's bits: a state's hash is the XOR of the keys of its bits set, so a
+   * round's hash is the last one's XORed with the keys of the bits which changed, usually a single
+   * newly placed piece. Hashes are well spread regardless of the board's size, so tables and caches
+   * can be indexed by them without hashing the whole board again.
+   *
+   * <p>Keys are drawn from a seed, so the same seed gives the same hashes across runs.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   * @see <a href="https://en.wikipedia.org/wiki/Zobrist_hashing">Technical reference</a>
+   */
+  public static final class Zobrist {
+
+    /** Keys for no bit at all, so every state hashes to zero. */
+    public static final Zobrist NONE = new Zobrist(new long[0]);
+    /** Keys indexed by the bit. */
+    private final long[] keys;
+
+    private Zobrist(final long[] keys) {
+      this.keys = keys;
+    }
+
+    /**
+     * Draws the keys for a board's bits.
+     *
+     * @param bits Bits of the board's state. Bits past them are not hashed.
+     * @param seed Seed to draw the keys from.
+     * @return The keys.
+     */
+    public static @NonNull Zobrist of(final int bits, final long seed) {
+      final var random = new SplittableRandom(seed);
+      final var keys = new long[bits];
+      for (var bit = 0; bit < bits; bit++) {
+        keys[bit] = random.nextLong();
+      }
+      return new Zobrist(keys);
+    }
+
+    /**
+     * Hashes a whole board.
+     *
+     * @param board Board in bitboard notation.
+     * @return The board's hash.
+     */
+    public long hash(@NonNull final Bitboard board) {
+      return update(0, EMPTY, board);
+    }
+
+    /**
+     * Hashes a board from another one's hash, by the bits which differ between them only.
+     *
+     * @param hash Hash of the board to start from.
+     * @param from Board to start from, in bitboard notation.
+     * @param to Board to hash, in bitboard notation.
+     * @return The latter board's hash.
+     */
+    public long update(final long hash, @NonNull final Bitboard from, @NonNull final Bitboard to) {
+      var result = hash;
+      final var hashed = (keys.length + WORD - 1) / WORD;
+      final var words = Math.min(Math.max(from.words(), to.words()), hashed);
+      for (var index = 0; index < words; index++) {
+        for (var diff = from.word(index) ^ to.word(index); diff != 0; diff &= diff - 1) {
+          final var bit = index * WORD + Long.numberOfTrailingZeros(diff);
+          if (bit >= keys.length) {
+            break;
+          }
+          result ^= keys[bit];
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Retrieves a single bit's key, to update a hash as a piece is placed or taken back.
+     *
+     * @param bit Bit's index.
+     * @return The bit's key, or zero if it is not hashed.
+     */
+    public long key(final int bit) {
+      return bit < keys.length ? keys[bit] : 0;
+    }
+  }
+
+  /**
+   * Precomputed answer, for every arrangement of one side's tiles, whether it holds a winning line.
+   *
+   * <p>Meant to be built once, at class initialization, by {@link Processor} implementations whose
+   * side fits in a few bits. The arrangements are packed as a bit set, so a 9-tile side takes 512
+   * bits and a lookup is a single shift over one of its words.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  public static final class WinTable {
+
+    /** Largest side, in tiles, that a table can be built for. */
+    private static final int MAX_TILES = 16;
+    /** Arrangements in bit set notation, indexed by the side's tiles. */
+    private final long[] arrangements;
+
+    private WinTable(final long[] arrangements) {
+      this.arrangements = arrangements;
+    }
+
+    /**
+     * Builds a table by checking every possible arrangement against all provided winning lines.
+     *
+     * @param tiles Side's size in tiles. Must not exceed {@value #MAX_TILES}.
+     * @param lines Winning lines, in bitboard notation for a single side.
+     * @return The table with all arrangements computed.
+     */
+    public static @NonNull WinTable of(final int tiles, final long... lines) {
+      if (tiles < 1 || tiles > MAX_TILES) {
+        throw new IllegalArgumentException("Unsupported number of tiles: " + tiles);
+      }
+      final var arrangements = new long[Math.max(1, (1 << tiles) >>> 6)];
+      for (var side = 0; side < 1 << tiles; side++) {
+        for (final var line : lines) {
+          if (line == (line & side)) {
+            arrangements[side >>> 6] |= 1L << side;
+            break;
+          }
+        }
+      }
+      return new WinTable(arrangements);
+    }
+
+    /**
+     * Checks if a side's arrangement holds a winning line.
+     *
+     * @param side One side's tiles, right-aligned.
+     * @return If any winning line is filled up.
+     */
+    public boolean test(final long side) {
+      return (arrangements[(int) (side >>> 6)] & 1L << side) != 0;
+    }
+  }
+
+  /**
+   * Rotations and reflections of a 3x3 board, laid out row by row in 9 bits per side, away's first
+   * and home's right after.
+   *
+   * <p>Each one holds its image of every side's arrangement, so transforming a board is one lookup
+   * per side, with no loop over its tiles. Positions which only differ by orientation are
+   * equivalent under the game's rules, so indexing them by their {@link #of(long) canonical} board
+   * lets tables and caches keep about an eighth of the entries.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   * @see <a href="https://en.wikipedia.org/wiki/Dihedral_group">Technical reference</a>
+   */
+  public enum Symmetry {
+    /** Leaves the board as it is. */
+    IDENTITY((r, c) -> r * 3 + c),
+    /** Rotates the board a quarter turn. */
+    ROTATE_90((r, c) -> c * 3 + 2 - r),
+    /** Rotates the board a half turn. */
+    ROTATE_180((r, c) -> (2 - r) * 3 + 2 - c),
+    /** Rotates the board three quarter turns. */
+    ROTATE_270((r, c) -> (2 - c) * 3 + r),
+    /** Mirrors the board's columns. */
+    FLIP_COLUMNS((r, c) -> r * 3 + 2 - c),
+    /** Mirrors the board's rows. */
+    FLIP_ROWS((r, c) -> (2 - r) * 3 + c),
+    /** Mirrors the board along its main diagonal. */
+    TRANSPOSE((r, c) -> c * 3 + r),
+    /** Mirrors the board along its anti-diagonal. */
+    ANTI_TRANSPOSE((r, c) -> (2 - c) * 3 + 2 - r),
+    ;
+    /** Tiles on a side. */
+    private static final int TILES = 9;
+    /** Covers all tiles on a side. */
+    private static final int SIDE = (1 << TILES) - 1;
+    /** Covers both sides. */
+    private static final long BOARD = (1L << 2 * TILES) - 1;
+    /** All symmetries, in declaration order. */
+    private static final Symmetry[] VALUES = values();
+
+    /** Tile each tile is taken to. */
+    private final int[] tiles = new int[TILES];
+    /** Side's arrangement each arrangement is taken to, indexed by the arrangement. */
+    private final int[] images = new int[SIDE + 1];
+
+    Symmetry(@NonNull final IntBinaryOperator tileOf) {
+      for (var tile = 0; tile < TILES; tile++) {
+        tiles[tile] = tileOf.applyAsInt(tile / 3, tile % 3);
+      }
+      for (var side = 1; side <= SIDE; side++) {
+        final var tile = Integer.numberOfTrailingZeros(side);
+        images[side] = images[side & side - 1] | 1 << tiles[tile];
+      }
+    }
+
+    /**
+     * Finds the symmetry which takes a board to its canonical one: the lowest state among its 8
+     * orientations.
+     *
+     * @param state Board in bitboard notation. Only its first 18 bits are considered.
+     * @return The symmetry to {@link #apply(long) apply}, preferring the first declared one among
+     *     those giving the same board.
+     */
+    public static @NonNull Symmetry of(final long state) {
+      var best = IDENTITY;
+      var lowest = state & BOARD;
+      for (final var symmetry : VALUES) {
+        final var image = symmetry.apply(state) & BOARD;
+        if (image < lowest) {
+          best = symmetry;
+          lowest = image;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Transforms a board.
+     *
+     * @param state Board in bitboard notation. Bits past the first 18 ones are kept as they are.
+     * @return The transformed board.
+     */
+    public long apply(final long state) {
+      return state & ~BOARD
+          | images[(int) state & SIDE]
+          | (long) images[(int) (state >>> TILES) & SIDE] << TILES;
+    }
+
+    /**
+     * Transforms a single side's arrangement.
+     *
+     * @param side One side's tiles, right-aligned in 9 bits.
+     * @return The transformed arrangement.
+     */
+    public int side(final int side) {
+      return images[side & SIDE];
+    }
+
+    /**
+     * Transforms a tile's index, such as a move found on the canonical board.
+     *
+     * @param tile Tile's index on a side.
+     * @return The index it is taken to.
+     */
+    public int tile(final int tile) {
+      return tiles[tile];
+    }
+
+    /**
+     * Retrieves the symmetry which undoes this one, to take what is found on a canonical board back
+     * to the original one.
+     *
+     * @return The inverse symmetry.
+     */
+    public @NonNull Symmetry inverse() {
+      if (ROTATE_90 == this) {
+        return ROTATE_270;
+      }
+      return ROTATE_270 == this ? ROTATE_90 : this;
     }
   }
 
@@ -106,6 +570,16 @@ public class Bitboard implements Serializable, Comparable<Bitboard> {
      * @return Optionally first exception retrieved.
      */
     Optional<ExceptionCode> validate(@NonNull final Bitboard last, @NonNull final Bitboard current);
+
+    /**
+     * Provides the keys validated states are hashed with. By default, there are none and every
+     * state hashes to zero.
+     *
+     * @return The {@link Zobrist} keys for the boards it validates.
+     */
+    default Zobrist zobrist() {
+      return Zobrist.NONE;
+    }
   }
 
   /**
@@ -124,5 +598,71 @@ public class Bitboard implements Serializable, Comparable<Bitboard> {
      * @return A outgoing result of the state.
      */
     Result resultOf(@NonNull final Bitboard.Processed state);
+
+    /**
+     * Calculates the end conditions, if any, by only considering what changed from the last round's
+     * state. Implementations can then check just the lines passing through the newly placed tile,
+     * instead of the whole board.
+     *
+     * <p>The last round's state is expected to be not over. By default, it falls back to {@link
+     * #resultOf(Processed) calculating the whole board}.
+     *
+     * @param last Last round's state from a {@link Game}'s board, in bitboard notation.
+     * @param state A {@link Game}'s board in bitboard notation.
+     * @return A outgoing result of the state.
+     */
+    default Result resultOf(@NonNull final Bitboard last, @NonNull final Bitboard.Processed state) {
+      return resultOf(state);
+    }
+
+    /**
+     * Calculates the end conditions of many single-word states at once, such as for analytics over
+     * stored rounds.
+     *
+     * <p>States are trusted as valid, so none is validated and nothing is thrown for them. By
+     * default, each one is calculated by {@link #resultOf(Processed)}, while implementations can
+     * override it with a tighter loop. Only meant for rule sets laid out in a single word, which
+     * the ones spanning further words must reject.
+     *
+     * @param states {@link Game}'s boards in bitboard notation, a single word each.
+     * @param results Filled up with each state's {@link Result#ordinal() result's ordinal}, at the
+     *     same index. Must be at least as long as the states.
+     * @throws IndexOutOfBoundsException if there are fewer results than states.
+     */
+    default void resultsOf(@NonNull final long[] states, @NonNull final byte[] results) {
+      Objects.checkFromIndexSize(0, states.length, results.length);
+      for (var index = 0; index < states.length; index++) {
+        results[index] = (byte) resultOf(new Processed(states[index])).ordinal();
+      }
+    }
+  }
+
+  /**
+   * Persists {@link #extension} as a single binary column.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @Converter
+  public static final class Words implements AttributeConverter<long[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(final long[] words) {
+      if (words == null || words.length == 0) {
+        return null;
+      }
+      final var buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+      buffer.asLongBuffer().put(words);
+      return buffer.array();
+    }
+
+    @Override
+    public long[] convertToEntityAttribute(final byte[] column) {
+      if (column == null || column.length == 0) {
+        return NONE;
+      }
+      final var words = new long[column.length / Long.BYTES];
+      ByteBuffer.wrap(column).asLongBuffer().get(words);
+      return words;
+    }
   }
 }
@@ -0,0 +1,138 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Solver;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for {@link Analyst}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for tic-tac-toe position analysis.")
+final class AnalystTest {
+
+  private static final Solver SOLVER = new Solver(Type.WINS);
+
+  @Test
+  @DisplayName(
+      "GIVEN an empty board "
+          + "WHEN analysing it "
+          + "THEN it is a draw through every tile "
+          + "AND the game ends with the board full.")
+  void analyse_empty() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    // Act
+    final var analysis = analyst.analyse(Bitboard.of(0));
+    // Assert
+    assertEquals(Result.TIE, analysis.getResult());
+    assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), analysis.getBestMoves());
+    assertEquals(9, analysis.getDistance());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN home on the center "
+          + "WHEN analysing it for away "
+          + "THEN it is a draw only through the corners.")
+  void analyse_center() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    // Act
+    final var analysis = analyst.analyse(Bitboard.of(0b0__000_010_000__000_000_000));
+    // Assert
+    assertEquals(Result.TIE, analysis.getResult());
+    assertEquals(List.of(0, 2, 6, 8), analysis.getBestMoves());
+    assertEquals(8, analysis.getDistance());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN home and away with two in a row each "
+          + "WHEN analysing it for home "
+          + "THEN home wins on its next ply through the only tile completing its row.")
+  void analyse_win() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    // Act
+    final var analysis = analyst.analyse(Bitboard.of(0b0__000_000_011__000_011_000));
+    // Assert
+    assertEquals(Result.HOME, analysis.getResult());
+    assertEquals(List.of(2), analysis.getBestMoves());
+    assertEquals(1, analysis.getDistance());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a finished board "
+          + "WHEN analysing it "
+          + "THEN its winner is the result, with no move left.")
+  void analyse_finished() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    // Act
+    final var analysis = analyst.analyse(Bitboard.of(0b0__000_000_111__000_011_000));
+    // Assert
+    assertEquals(Result.HOME, analysis.getResult());
+    assertEquals(List.of(), analysis.getBestMoves());
+    assertEquals(0, analysis.getDistance());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a position and its mirror "
+          + "WHEN analysing both "
+          + "THEN the mirror is served from the cache "
+          + "AND its best tile is mirrored back.")
+  void analyse_cached() {
+    // Arrange
+    final var registry = new SimpleMeterRegistry();
+    final var analyst = new Analyst(SOLVER, 4, registry);
+    analyst.analyse(Bitboard.of(0b0__000_000_011__000_011_000));
+    // Act
+    final var mirrored = analyst.analyse(Bitboard.of(0b0__000_000_110__000_110_000));
+    // Assert
+    assertEquals(List.of(0), mirrored.getBestMoves());
+    assertEquals(1, registry.get(Analyst.METER).tag("result", "hit").counter().count());
+    assertEquals(1, registry.get(Analyst.METER).tag("result", "miss").counter().count());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a board with both sides on the same tile "
+          + "WHEN analysing it "
+          + "THEN exception with code BITBOARD_PIECE_IN_SAME_TILE is thrown.")
+  void analyse_invalid() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    final var invalid = Bitboard.of(0b0__000_000_001__000_000_001);
+    // Act
+    final var ex = assertThrows(ExceptionCode.Failure.class, () -> analyst.analyse(invalid));
+    // Assert
+    assertEquals(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE, ex.getCode());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a board with three more home pieces than away ones "
+          + "WHEN analysing it "
+          + "THEN exception with code BITBOARD_EXCESSIVE_BITS_PER_ROUND is thrown.")
+  void analyse_unreachable() {
+    // Arrange
+    final var analyst = new Analyst(SOLVER, 4, new SimpleMeterRegistry());
+    final var unreachable = Bitboard.of(0b0__101_000_100__000_000_000);
+    // Act
+    final var ex = assertThrows(ExceptionCode.Failure.class, () -> analyst.analyse(unreachable));
+    // Assert
+    assertEquals(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND, ex.getCode());
+  }
+}
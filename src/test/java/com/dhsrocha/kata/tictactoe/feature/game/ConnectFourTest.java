@@ -0,0 +1,178 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link ConnectFour} rule set, through {@link Type#CONNECT_FOUR}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for Connect Four rule set.")
+final class ConnectFourTest {
+
+  private static final Type RULE = Type.CONNECT_FOUR;
+  private static final int TILES = 49;
+
+  @ParameterizedTest
+  @MethodSource("boards")
+  @DisplayName(
+      "GIVEN a valid board "
+          + "WHEN calculating its result "
+          + "THEN lines are found in every direction, but not across columns.")
+  void resultOf(final long away, final long home, final Result expected) {
+    // Arrange
+    final var board = boardOf(away, home);
+    // Act
+    final var actual = RULE.resultOf(board.processWith(board, RULE));
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidBoards")
+  @DisplayName(
+      "GIVEN an invalid board "
+          + "WHEN validating it "
+          + "THEN return the corresponding exception code.")
+  void validate(final long away, final long home, final ExceptionCode expected) {
+    // Arrange
+    final var board = boardOf(away, home);
+    // Act
+    final var actual = RULE.validate(board, board);
+    // Assert
+    assertEquals(Optional.of(expected), actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  @DisplayName(
+      "GIVEN randomly played games "
+          + "WHEN validating and calculating each round "
+          + "THEN every round is legal "
+          + "AND the result from the placed piece is the same as the whole board's.")
+  void randomGames(final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    final var heights = new int[7];
+    var away = 0L;
+    var home = 0L;
+    var last = Bitboard.of(0);
+    var result = Result.NOT_OVER;
+    for (var round = 0; Result.NOT_OVER == result; round++) {
+      final var column = random.nextInt(7);
+      if (heights[column] == 6) {
+        round--;
+        continue;
+      }
+      final var tile = 1L << column * 7 + heights[column]++;
+      away |= round % 2 == 0 ? tile : 0;
+      home |= round % 2 == 0 ? 0 : tile;
+      final var current = boardOf(away, home);
+      // Act
+      final var processed = current.processWith(last, RULE);
+      result = RULE.resultOf(last, processed);
+      // Assert
+      assertEquals(RULE.resultOf(processed), result, current.toString());
+      last = current;
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a played board "
+          + "WHEN validating and calculating it repeatedly "
+          + "THEN no memory is allocated.")
+  void allocationFree() {
+    // Arrange
+    final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final var last = boardOf(0b0__0000001__0000000, 0b0__0000000__0000111);
+    final var current = boardOf(0b0__0000011__0000000, 0b0__0000000__0000111);
+    final var processed = current.processWith(last, RULE);
+    var sink = 0;
+    for (var i = 0; i < 100_000; i++) {
+      sink += RULE.validate(last, current).isEmpty() ? 1 : 0;
+      sink += RULE.resultOf(last, processed).ordinal();
+    }
+    final var id = Thread.currentThread().getId();
+    // Act
+    final var before = threads.getThreadAllocatedBytes(id);
+    for (var i = 0; i < 100_000; i++) {
+      sink += RULE.validate(last, current).isEmpty() ? 1 : 0;
+      sink += RULE.resultOf(last, processed).ordinal();
+    }
+    final var allocated = threads.getThreadAllocatedBytes(id) - before;
+    // Assert
+    assertTrue(sink > 0);
+    assertEquals(0, allocated);
+  }
+
+  private static Stream<Arguments> boards() {
+    return Stream.of(
+        // Vertical.
+        Arguments.of(0b0__0000000__0001111, 0b0__0000111__0000000, Result.AWAY),
+        // Horizontal, on the bottom row.
+        Arguments.of(
+            0b0__0000110__0000110__0000110, 1L | 1L << 7 | 1L << 14 | 1L << 21, Result.HOME),
+        // Rising diagonal.
+        Arguments.of(
+            1L | 1L << 8 | 1L << 16 | 1L << 24,
+            0b0__0000111__0000011__0000001__0000000,
+            Result.AWAY),
+        // Three in a row only.
+        Arguments.of(0b0__0000000__0000111, 0b0__0000000__0000111__0000000, Result.NOT_OVER),
+        // Vertical wrap from a column's top to the next column's bottom is not a line.
+        Arguments.of(0b0__0000011__0110100, 0b0__0000000__0001011, Result.NOT_OVER),
+        // Full board with no line.
+        Arguments.of(tieSide('A'), tieSide('B'), Result.TIE));
+  }
+
+  private static Stream<Arguments> invalidBoards() {
+    return Stream.of(
+        // Piece with nothing under it.
+        Arguments.of(0b0__0000010, 0L, ExceptionCode.BITBOARD_FLOATING_PIECE),
+        // Gap in a column.
+        Arguments.of(0b0__0000101, 0b0__0000000, ExceptionCode.BITBOARD_FLOATING_PIECE),
+        // Piece on the sentinel row.
+        Arguments.of(0b0__1010101, 0b0__0101010, ExceptionCode.BITBOARD_EXCESSIVE_BITS),
+        // Both sides on the same tile.
+        Arguments.of(0b0__0000001, 0b0__0000001, ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE));
+  }
+
+  private static LongStream seeds() {
+    return LongStream.rangeClosed(1, 32);
+  }
+
+  /** Picks a side's tiles from a full board with no line, described column by column. */
+  private static long tieSide(final char side) {
+    final var columns =
+        new String[] {"BABABA", "BABABA", "ABBAAB", "BBABAA", "BABABA", "BAABBA", "ABABAB"};
+    var tiles = 0L;
+    for (var column = 0; column < columns.length; column++) {
+      for (var row = 0; row < columns[column].length(); row++) {
+        if (columns[column].charAt(row) == side) {
+          tiles |= 1L << column * 7 + row;
+        }
+      }
+    }
+    return tiles;
+  }
+
+  private static Bitboard boardOf(final long away, final long home) {
+    return Bitboard.of(away | home << TILES, home >>> 64 - TILES);
+  }
+}
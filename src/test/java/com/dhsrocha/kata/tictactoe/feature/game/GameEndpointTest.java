@@ -1,15 +1,19 @@
 package com.dhsrocha.kata.tictactoe.feature.game;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.dhsrocha.kata.tictactoe.base.BaseRepository;
@@ -26,8 +30,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.ResultActions;
 
 /**
  * Test suite for features related to {@link Game} domain.
@@ -238,6 +244,201 @@ final class GameEndpointTest extends BaseEndpointTest {
     }
   }
 
+  @Nested
+  @DisplayName("PUT '" + URI_GAME + '/' + GameController.BOT + "'")
+  class Invite {
+    @Test
+    @DisplayName(
+        "GIVEN opened game " //
+            + "WHEN inviting the bot "
+            + "THEN game is in progress "
+            + "AND the bot is the away player.")
+    void givenOpenedGame_whenInvite_thenBotIsJoinedToGame() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var res = game(opener).andExpect(status().isCreated());
+      // Act
+      invite(opener, idFrom(res)).andExpect(status().isNoContent());
+      // Assert
+      fromLocation(res)
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.stage", is(Game.Stage.IN_PROGRESS.name())))
+          .andExpect(jsonPath("$.away.username", is(Bot.USERNAME)));
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN game the bot is in "
+            + "WHEN the home player creates a turn "
+            + "THEN the bot answers it in the same request.")
+    void givenGameWithBot_whenCreateTurn_thenBotAnswers() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var game = idFrom(game(opener));
+      invite(opener, game).andExpect(status().isNoContent());
+      // Act
+      turn(opener, game, 0b0_000_010_000__000_000_000).andExpect(status().isCreated());
+      // Assert
+      mvc.perform(withAdmin(get(URI_TURN)).queryParam("gameId", game.toString()))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.page.totalElements", is(2)));
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN opened game " //
+            + "WHEN inviting the bot by another player "
+            + "THEN return exception with code PLAYER_NOT_IN_GAME.")
+    void givenOpenedGame_whenInviteByAnother_thenReturnStatus409_PLAYER_NOT_IN_GAME()
+        throws Exception {
+      // Arrange
+      final var game = idFrom(game(player().getExternalId()));
+      // Act - Assert
+      invite(player().getExternalId(), game).andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN game in progress "
+            + "WHEN inviting the bot "
+            + "THEN return exception with code GAME_NOT_IN_AWAITS.")
+    void givenInProgressGame_whenInvite_thenReturnStatus409_GAME_NOT_IN_AWAITS() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(player().getExternalId(), game).andExpect(status().isNoContent());
+      // Act - Assert
+      invite(opener, game).andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN opened game of a type the bot cannot play "
+            + "WHEN inviting the bot "
+            + "THEN return exception with code GAME_WITHOUT_BOT.")
+    void givenUltimateGame_whenInvite_thenReturnStatus409_GAME_WITHOUT_BOT() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var open = withAuth(opener, post(URI_GAME)).queryParam("type", Type.ULTIMATE.name());
+      final var game = idFrom(mvc.perform(open).andExpect(status().isCreated()));
+      // Act - Assert
+      invite(opener, game).andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN opened gomoku game " //
+            + "WHEN inviting the bot "
+            + "THEN game is in progress.")
+    void givenGomokuGame_whenInvite_thenBotIsJoinedToGame() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var open = withAuth(opener, post(URI_GAME)).queryParam("type", Type.GOMOKU.name());
+      final var res = mvc.perform(open).andExpect(status().isCreated());
+      // Act
+      invite(opener, idFrom(res)).andExpect(status().isNoContent());
+      // Assert
+      fromLocation(res).andExpect(jsonPath("$.stage", is(Game.Stage.IN_PROGRESS.name())));
+    }
+
+    private ResultActions invite(final UUID player, final UUID game) throws Exception {
+      return mvc.perform(withAuth(player, put(URI_GAME + '/' + GameController.BOT, game)));
+    }
+  }
+
+  @Nested
+  @DisplayName("GET '" + URI_GAME + '/' + GameController.REPLAY + "'")
+  class Replay {
+    @Test
+    @DisplayName(
+        "GIVEN a game finished by home's top row "
+            + "WHEN replaying it "
+            + "THEN stream every position in order, one per line "
+            + "AND home as the last one's result.")
+    void givenFinishedGame_whenReplay_thenStreamEveryPosition() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+      turn(opener, game, 0b0__000_000_011__000_001_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0__000_000_011__000_011_000).andExpect(status().isCreated());
+      turn(opener, game, 0b0__000_000_111__000_011_000).andExpect(status().isNoContent());
+      // Act
+      final var started =
+          mvc.perform(withAuth(opener, get(URI_GAME + '/' + GameController.REPLAY, game)))
+              .andExpect(request().asyncStarted())
+              .andReturn();
+      final var res =
+          mvc.perform(asyncDispatch(started))
+              .andExpect(status().isOk())
+              .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+      // Assert
+      final var lines = res.andReturn().getResponse().getContentAsString().split("\n");
+      assertEquals(5, lines.length);
+      assertEquals("{\"ply\":1,\"board\":{\"state\":512},\"result\":\"NOT_OVER\"}", lines[0]);
+      assertEquals("{\"ply\":5,\"board\":{\"state\":3608},\"result\":\"HOME\"}", lines[4]);
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN no created game "
+            + "WHEN replaying a random game id "
+            + "THEN return exception with code GAME_NOT_FOUND.")
+    void givenRandomGameId_whenReplay_thenReturnStatus404_GAME_NOT_FOUND() throws Exception {
+      // Arrange
+      final var player = player().getExternalId();
+      final var replay = get(URI_GAME + '/' + GameController.REPLAY, UUID.randomUUID());
+      // Act - Assert
+      mvc.perform(withAuth(player, replay)).andExpect(status().isNotFound());
+    }
+  }
+
+  @Nested
+  @DisplayName("GET '" + URI_GAME + '/' + GameController.ANALYSIS + "'")
+  class Analysis {
+    @Test
+    @DisplayName(
+        "GIVEN home and away with two in a row each "
+            + "WHEN analysing it "
+            + "THEN return home as winner on its next ply through a single tile.")
+    void givenWinningPosition_whenAnalyse_thenReturnWinnerAndBestMove() throws Exception {
+      // Arrange
+      final var player = player().getExternalId();
+      final var analysis =
+          get(URI_GAME + '/' + GameController.ANALYSIS)
+              .queryParam("type", Type.TIC_TAC_TOE.name())
+              .queryParam("state", String.valueOf(0b0__000_000_011__000_011_000));
+      // Act
+      final var res = mvc.perform(withAuth(player, analysis));
+      // Assert
+      res.andExpect(status().isOk())
+          .andExpect(content().contentType(APPLICATION_JSON))
+          .andExpect(jsonPath("$.result", is("HOME")))
+          .andExpect(jsonPath("$.bestMoves", contains(2)))
+          .andExpect(jsonPath("$.distance", is(1)));
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN a type with no perfect-play analysis "
+            + "WHEN analysing one of its positions "
+            + "THEN return exception with code GAME_WITHOUT_ANALYSIS.")
+    void givenUnsolvedType_whenAnalyse_thenReturnStatus400_GAME_WITHOUT_ANALYSIS()
+        throws Exception {
+      // Arrange
+      final var player = player().getExternalId();
+      final var analysis =
+          get(URI_GAME + '/' + GameController.ANALYSIS)
+              .queryParam("type", Type.GOMOKU.name())
+              .queryParam("state", "1");
+      // Act - Assert
+      mvc.perform(withAuth(player, analysis)).andExpect(status().isBadRequest());
+    }
+  }
+
   @Nested
   @DisplayName("PUT '" + URI_GAME + '/' + GameController.SURRENDER + "'")
   class Surrender {
@@ -6,14 +6,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.dhsrocha.kata.tictactoe.feature.player.PlayerTest;
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
 import com.dhsrocha.kata.tictactoe.helper.RandomStubExtension;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * Test suite for {@link Game}.
@@ -68,7 +69,7 @@ public final class GameTest implements RandomStubExtension {
         validStub().toBuilder().stage(Game.Stage.IN_PROGRESS).away(PlayerTest.validStub()).build();
     // Act - Assert
     final var ex =
-        assertThrows(HttpClientErrorException.class, () -> stub.finish(PlayerTest.validStub()));
+        assertThrows(ExceptionCode.Failure.class, () -> stub.finish(PlayerTest.validStub()));
     // Assert
     assertEquals(
         ex.getMessage(),
@@ -87,7 +88,7 @@ public final class GameTest implements RandomStubExtension {
     final var stub =
         validStub().toBuilder().stage(Game.Stage.AWAITS).away(PlayerTest.validStub()).build();
     // Act
-    final var ex = assertThrows(HttpClientErrorException.class, () -> stub.finish(stub.getHome()));
+    final var ex = assertThrows(ExceptionCode.Failure.class, () -> stub.finish(stub.getHome()));
     // Assert
     assertEquals(
         ex.getMessage(),
@@ -185,6 +186,28 @@ public final class GameTest implements RandomStubExtension {
     assertEquals(Game.Stage.FINISHED, game.getStage());
   }
 
+  @Test
+  @DisplayName(
+      "GIVEN a game with no turn "
+          + "WHEN playing a turn on it "
+          + "THEN the turn's board, hash, order and player are kept as the game's last ones "
+          + "AND its piece is logged.")
+  void givenGameWithNoTurn_whenPlayed_thenKeepTurnAsLast() {
+    // Arrange
+    final var game = validStub().toBuilder().type(Type.TIC_TAC_TOE).build();
+    final var board = Bitboard.of(0b0__000_010_000__000_000_000);
+    final var turn =
+        Turn.builder().game(game).player(game.getHome()).state(board).hash(7).seq(1).build();
+    // Act
+    final var played = game.played(Bitboard.of(0), turn);
+    // Assert
+    assertEquals(board, played.getBoard());
+    assertEquals(7, played.getHash());
+    assertEquals(1, played.getLastSeq());
+    assertEquals(game.getHome(), played.getLastMover());
+    assertEquals(13, MoveLog.bit(played.getMoves(), 0));
+  }
+
   public static Game validStub() {
     return Game.builder()
         .type(RandomStubExtension.randomOf(Type.class))
@@ -0,0 +1,263 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.dhsrocha.kata.tictactoe.base.BaseRepository;
+import com.dhsrocha.kata.tictactoe.feature.player.Player;
+import com.dhsrocha.kata.tictactoe.feature.player.PlayerTest;
+import com.dhsrocha.kata.tictactoe.feature.turn.Turn;
+import com.dhsrocha.kata.tictactoe.helper.BaseEndpointTest;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test suite for {@link LiveGames}, with games in progress kept in memory.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Tag(Game.TAG)
+@DisplayName("Test suite for in-memory games in progress, under integration testing strategy.")
+@SpringBootTest(properties = "game.engine.live-games.enabled=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+final class LiveGamesTest extends BaseEndpointTest {
+
+  /** Tiles on a side. */
+  private static final int TILES = 9;
+
+  @Autowired BaseRepository<Player> playerRepository;
+  @Autowired BaseRepository<Turn> turnRepository;
+  @Autowired GameRepository gameRepository;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired LiveGames liveGames;
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game "
+          + "WHEN creating turns until home wins "
+          + "THEN return status HTTP 201 for each but the last "
+          + "AND status HTTP 204 for the last one "
+          + "AND the game is written with home as winner and every piece logged "
+          + "AND no turn is left.")
+  void givenInProgressGame_whenCreateUntilWin_thenGameWritten_andTurnsRemoved() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var res = game(opener);
+    final var game = idFrom(res);
+    join(joiner, game).andExpect(status().isNoContent());
+    // Act
+    turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+    turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+    turn(opener, game, 0b0__000_000_011__000_001_000).andExpect(status().isCreated());
+    turn(joiner, game, 0b0__000_000_011__000_011_000).andExpect(status().isCreated());
+    turn(opener, game, 0b0__000_000_111__000_011_000).andExpect(status().isNoContent());
+    // Assert
+    fromLocation(res)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stage", is(Game.Stage.FINISHED.name())))
+        .andExpect(jsonPath("$.winner.id", is(opener.toString())))
+        .andExpect(jsonPath("$.moves", is(10 | 4 << 5 | 11 << 10 | 5 << 15 | 12 << 20)));
+    liveGames.flush();
+    assertEquals(0, turnRepository.count());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game with written turns "
+          + "WHEN loading it on a store with no game in memory "
+          + "THEN it resumes from the last written turn.")
+  void givenWrittenTurns_whenLoadOnNewStore_thenResumeFromLastTurn() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var game = idFrom(game(opener));
+    join(joiner, game).andExpect(status().isNoContent());
+    turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+    turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+    liveGames.flush();
+    final var restarted =
+        new LiveGames(
+            gameRepository,
+            turnRepository,
+            transactionManager,
+            Duration.ofHours(1),
+            Duration.ofHours(1));
+    // Act
+    final var recovered = restarted.apply(game, g -> g);
+    // Assert
+    restarted.close();
+    assertEquals(2, turnRepository.count());
+    assertEquals(2, recovered.getLastSeq());
+    assertEquals(0b0__000_000_001__000_001_000, recovered.getBoard().getState());
+    assertEquals(joiner, recovered.getLastMover().getExternalId());
+    assertEquals(10 | 4 << 5, recovered.getMoves());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game "
+          + "WHEN home submits distinct first turns at once "
+          + "THEN return status HTTP 201 for exactly one of them "
+          + "AND status HTTP 409 for the others "
+          + "AND the game holds the accepted one's board as its first turn.")
+  void givenInProgressGame_whenConcurrentFirstTurns_thenExactlyOneAccepted() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var game = idFrom(game(opener));
+    join(joiner, game).andExpect(status().isNoContent());
+    final var start = new CountDownLatch(1);
+    final var pool = Executors.newFixedThreadPool(TILES);
+    final var submissions = new ArrayList<Future<Integer>>();
+    try {
+      for (var tile = 0; tile < TILES; tile++) {
+        final var board = 1 << TILES + tile;
+        submissions.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  return turn(opener, game, board).andReturn().getResponse().getStatus();
+                }));
+      }
+      // Act
+      start.countDown();
+      final var statuses = new ArrayList<Integer>();
+      for (final var submission : submissions) {
+        statuses.add(submission.get());
+      }
+      // Assert
+      final var accepted = statuses.indexOf(HttpStatus.CREATED.value());
+      assertEquals(1, Collections.frequency(statuses, HttpStatus.CREATED.value()));
+      assertEquals(TILES - 1, Collections.frequency(statuses, HttpStatus.CONFLICT.value()));
+      final var live = liveGames.apply(game, g -> g);
+      assertEquals(1, live.getLastSeq());
+      assertEquals(1 << TILES + accepted, live.getBoard().getState());
+      assertEquals(opener, live.getLastMover().getExternalId());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game with written turns "
+          + "WHEN a batch holds a turn already written along with a new one "
+          + "THEN the written one is dropped "
+          + "AND the new one is written.")
+  void givenWrittenTurn_whenFlushAgainWithNewOne_thenOnlyNewOneWritten() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var game = idFrom(game(opener));
+    join(joiner, game).andExpect(status().isNoContent());
+    turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+    turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+    liveGames.flush();
+    final var live = liveGames.apply(game, g -> g);
+    // Act
+    liveGames.append(turnOf(live, 2, live.getAway(), 0b0__000_000_001__000_001_000));
+    liveGames.append(turnOf(live, 3, live.getHome(), 0b0__000_000_011__000_001_000));
+    liveGames.flush();
+    liveGames.flush();
+    // Assert
+    assertEquals(3, turnRepository.count());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game with a queued turn "
+          + "WHEN evicting idle games "
+          + "THEN the queued turn is written "
+          + "AND the game is loaded again on its next move, resuming from it.")
+  void givenQueuedTurn_whenEvictIdle_thenTurnWritten_andGameReloaded() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var game = idFrom(game(opener));
+    join(joiner, game).andExpect(status().isNoContent());
+    final var store =
+        new LiveGames(
+            gameRepository, turnRepository, transactionManager, Duration.ofHours(1), Duration.ZERO);
+    final var loaded = store.apply(game, g -> g);
+    store.apply(
+        game,
+        g -> {
+          store.append(turnOf(g, 1, g.getHome(), 0b0__000_000_001__000_000_000));
+          return g;
+        });
+    // Act
+    store.evictIdle();
+    final var reloaded = store.apply(game, g -> g);
+    // Assert
+    store.close();
+    assertEquals(1, turnRepository.count());
+    assertNotSame(loaded, reloaded);
+    assertEquals(1, reloaded.getLastSeq());
+    assertEquals(0b0__000_000_001__000_000_000, reloaded.getBoard().getState());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN in progress game with a queued turn which fails to be written "
+          + "WHEN flushing it many times and evicting idle games "
+          + "THEN the turn is kept queued "
+          + "AND the game is kept in memory.")
+  void givenFailingTurn_whenFlushAndEvictIdle_thenTurnKept_andGameNotEvicted() throws Exception {
+    // Arrange
+    final var opener = player().getExternalId();
+    final var joiner = player().getExternalId();
+    final var game = idFrom(game(opener));
+    join(joiner, game).andExpect(status().isNoContent());
+    final var store =
+        new LiveGames(
+            gameRepository, turnRepository, transactionManager, Duration.ofHours(1), Duration.ZERO);
+    // Not written, so the turn referring to it can never be.
+    final var unsaved = PlayerTest.validStub();
+    final var loaded =
+        store.apply(
+            game,
+            g -> {
+              store.append(turnOf(g, 1, unsaved, 0b0__000_000_001__000_000_000));
+              return g;
+            });
+    // Act
+    for (var i = 0; i < TILES; i++) {
+      store.flush();
+    }
+    store.evictIdle();
+    final var kept = store.apply(game, g -> g);
+    // Assert
+    store.close();
+    assertSame(loaded, kept);
+    assertEquals(0, turnRepository.count());
+  }
+
+  private static Turn turnOf(
+      final Game game, final int seq, final Player player, final long board) {
+    return Turn.builder().seq(seq).state(Bitboard.of(board)).game(game).player(player).build();
+  }
+
+  private Player player() {
+    return playerRepository.save(PlayerTest.validStub().toBuilder().active(Boolean.TRUE).build());
+  }
+}
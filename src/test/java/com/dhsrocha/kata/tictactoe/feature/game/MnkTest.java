@@ -0,0 +1,263 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.dhsrocha.kata.tictactoe.feature.game.solver.Search;
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link Mnk} and the {@link Type types} relying on it.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for m,n,k-game rule set.")
+final class MnkTest {
+
+  @Test
+  @DisplayName(
+      "GIVEN every valid tic-tac-toe board "
+          + "WHEN calculating it with the generic 3,3,3 rule set "
+          + "THEN it agrees with the specialized one.")
+  void generic_sameAsTicTacToe() {
+    // Arrange
+    final var generic = new Mnk(3, 3, 3);
+    final var rule = Type.TIC_TAC_TOE;
+    for (var state = 1; state < 1 << 18; state++) {
+      final var board = Bitboard.of(state);
+      if (rule.validate(board, board).isPresent()) {
+        continue;
+      }
+      // Act
+      final var processed = board.processWith(board, rule);
+      // Assert
+      assertEquals(rule.resultOf(processed), generic.resultOf(processed), board.toString());
+      assertEquals(rule.validate(board, board), generic.validate(board, board));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("gomokuBoards")
+  @DisplayName(
+      "GIVEN a gomoku board "
+          + "WHEN calculating its result "
+          + "THEN lines are found in every direction, even across words, but not across edges.")
+  void gomoku_result(final int[] away, final int[] home, final Result expected) {
+    // Arrange
+    final var rule = Type.GOMOKU;
+    final var board = boardOf(225, away, home);
+    // Act
+    final var actual = rule.resultOf(board.processWith(board, rule));
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN gomoku boards "
+          + "WHEN calculating their results repeatedly, from scratch and from their last piece "
+          + "THEN no heap allocation is performed by the current thread.")
+  void gomoku_resultDoesNotAllocate() {
+    // Arrange
+    final var rule = Type.GOMOKU;
+    final var mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled());
+    final var lasts =
+        gomokuBoards()
+            .map(a -> lastOf(225, (int[]) a.get()[0], (int[]) a.get()[1]))
+            .toArray(Bitboard[]::new);
+    final var stubs =
+        gomokuBoards()
+            .map(a -> boardOf(225, (int[]) a.get()[0], (int[]) a.get()[1]))
+            .toArray(Bitboard[]::new);
+    final var processed = new Bitboard.Processed[stubs.length];
+    for (var i = 0; i < stubs.length; i++) {
+      processed[i] = stubs[i].processWith(lasts[i], rule);
+    }
+    final var sink = new long[] {exercise(rule, lasts, processed)};
+    // Act
+    final var before = mx.getCurrentThreadAllocatedBytes();
+    sink[0] += exercise(rule, lasts, processed);
+    final var allocated = mx.getCurrentThreadAllocatedBytes() - before;
+    // Assert
+    assertEquals(0, allocated);
+    assertNotEquals(0, sink[0]);
+  }
+
+  @ParameterizedTest
+  @MethodSource("typesAndSeeds")
+  @DisplayName(
+      "GIVEN randomly played games "
+          + "WHEN calculating each round only through the newly placed tile "
+          + "THEN return the same result as calculating the whole board "
+          + "AND the same hash as hashing the whole board.")
+  void incremental_sameAsWholeBoard(final Type type, final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    final var tiles = type.getTiles();
+    final var free = new int[tiles];
+    Arrays.setAll(free, i -> i);
+    final var words = new long[(2 * tiles + 63) / 64];
+    var last = Bitboard.of(0);
+    var result = Result.NOT_OVER;
+    for (var round = 0; round < tiles && Result.NOT_OVER == result; round++) {
+      final var pick = round + random.nextInt(tiles - round);
+      final var tile = free[pick];
+      free[pick] = free[round];
+      final var bit = tile + (round % 2) * tiles;
+      words[bit / 64] |= 1L << bit;
+      final var current = Bitboard.of(words[0], Arrays.copyOfRange(words, 1, words.length));
+      // Act
+      final var processed = current.processWith(last, type);
+      result = type.resultOf(last, processed);
+      // Assert
+      assertEquals(type.resultOf(processed), result, current.toString());
+      assertEquals(type.zobrist().hash(current), processed.getHash(), current.toString());
+      last = current;
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN invalid gomoku boards "
+          + "WHEN validating them "
+          + "THEN return the corresponding exception codes.")
+  void gomoku_validate() {
+    // Arrange
+    final var rule = Type.GOMOKU;
+    final var empty = Bitboard.of(0);
+    final var two = boardOf(225, new int[] {0}, new int[] {224});
+    final var overlap = boardOf(225, new int[] {100}, new int[] {100});
+    final var outside = Bitboard.of(0, 0, 0, 0, 0, 0, 0, 1L << 3);
+    // Act - Assert
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND), rule.validate(empty, two));
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE), rule.validate(two, overlap));
+    assertEquals(Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS), rule.validate(empty, outside));
+    assertEquals(Optional.empty(), rule.validate(empty, boardOf(225, new int[] {63}, new int[0])));
+  }
+
+  @ParameterizedTest
+  @MethodSource("gomokuThreats")
+  @DisplayName(
+      "GIVEN a gomoku board with a four in a row "
+          + "WHEN searching away's best move "
+          + "THEN complete its own five or block home's.")
+  void gomoku_search(final int[] away, final int[] home, final int expected) {
+    // Arrange
+    final var rules = Type.GOMOKU.searchable().orElseThrow();
+    final var board = boardOf(225, away, home);
+    final var words = new long[board.words()];
+    Arrays.setAll(words, board::word);
+    try (final var search = new Search(2, 12)) {
+      // Act
+      final var keys = Type.GOMOKU.zobrist();
+      final var actual =
+          search.bestMove(rules, keys, words, keys.hash(board), 0, Duration.ofMillis(50)).join();
+      // Assert
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN gomoku, laid out in more than a word "
+          + "WHEN calculating single-word states in batch "
+          + "THEN IllegalArgumentException is thrown.")
+  void gomoku_resultsOf() {
+    // Act - Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> Type.GOMOKU.resultsOf(new long[1], new byte[1]));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN unsupported board dimensions "
+          + "WHEN building the rule set "
+          + "THEN IllegalArgumentException is thrown.")
+  void unsupportedBoard() {
+    // Act - Assert
+    assertThrows(IllegalArgumentException.class, () -> new Mnk(0, 3, 3));
+    assertThrows(IllegalArgumentException.class, () -> new Mnk(3, 3, 4));
+    assertThrows(IllegalArgumentException.class, () -> new Mnk(3, 63, 3));
+  }
+
+  private static long exercise(
+      final Type rule, final Bitboard[] lasts, final Bitboard.Processed[] stubs) {
+    var acc = 0L;
+    for (var i = 0; i < 10_000; i++) {
+      for (var s = 0; s < stubs.length; s++) {
+        acc += rule.resultOf(stubs[s]).ordinal() + rule.resultOf(lasts[s], stubs[s]).ordinal();
+      }
+    }
+    return acc;
+  }
+
+  private static Stream<Arguments> gomokuBoards() {
+    return Stream.of(
+        // Horizontal, crossing from the first word to the second one.
+        Arguments.of(new int[] {60, 61, 62, 63, 64}, new int[0], Result.AWAY),
+        // Vertical.
+        Arguments.of(new int[0], new int[] {7, 22, 37, 52, 67}, Result.HOME),
+        // Diagonal, ending at the bottom right corner.
+        Arguments.of(new int[0], new int[] {160, 176, 192, 208, 224}, Result.HOME),
+        // Anti-diagonal.
+        Arguments.of(new int[] {14, 28, 42, 56, 70}, new int[0], Result.AWAY),
+        // Four in a row only.
+        Arguments.of(new int[] {60, 61, 62, 63}, new int[] {0, 15, 30, 45}, Result.NOT_OVER),
+        // Wrapping around the right edge is not a line.
+        Arguments.of(new int[] {13, 14, 15, 16, 17}, new int[0], Result.NOT_OVER),
+        // Wrapping around the edges diagonally is not a line.
+        Arguments.of(new int[] {0, 16, 32, 48, 64}, new int[0], Result.AWAY),
+        Arguments.of(new int[] {14, 30, 46, 62, 78}, new int[0], Result.NOT_OVER),
+        Arguments.of(new int[] {1, 15, 29, 43, 57}, new int[0], Result.NOT_OVER));
+  }
+
+  private static Stream<Arguments> gomokuThreats() {
+    return Stream.of(
+        // Completes its own row at the only open end.
+        Arguments.of(new int[] {60, 61, 62, 63}, new int[] {0, 15, 30}, 64),
+        // Blocks home's row at the only open end.
+        Arguments.of(new int[] {0, 30, 200}, new int[] {101, 102, 103, 104}, 100));
+  }
+
+  private static Stream<Arguments> typesAndSeeds() {
+    return Stream.of(Type.TIC_TAC_TOE, Type.MNK_4X4_4, Type.MNK_7X7_5, Type.GOMOKU)
+        .flatMap(t -> Stream.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L).map(s -> Arguments.of(t, s)));
+  }
+
+  /** Builds a board as it was before its last piece, the last away one if any, was placed. */
+  private static Bitboard lastOf(final int tiles, final int[] away, final int[] home) {
+    return away.length > 0
+        ? boardOf(tiles, Arrays.copyOf(away, away.length - 1), home)
+        : boardOf(tiles, away, Arrays.copyOf(home, home.length - 1));
+  }
+
+  private static Bitboard boardOf(final int tiles, final int[] away, final int[] home) {
+    final var words = new long[(2 * tiles + 63) / 64];
+    for (final var tile : away) {
+      words[tile / 64] |= 1L << tile;
+    }
+    for (final var tile : home) {
+      words[(tiles + tile) / 64] |= 1L << tiles + tile;
+    }
+    return Bitboard.of(words[0], Arrays.copyOfRange(words, 1, words.length));
+  }
+}
@@ -0,0 +1,74 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for {@link MoveLog}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for packed move logs.")
+final class MoveLogTest {
+
+  @Test
+  @DisplayName(
+      "GIVEN a played tic-tac-toe game "
+          + "WHEN logging each of its boards "
+          + "THEN every board is rebuilt in order from the log.")
+  void append_boards() {
+    // Arrange
+    final var boards =
+        new long[] {
+          0b0__000_000_000__000_010_000,
+          0b0__000_000_001__000_010_000,
+          0b0__000_000_001__100_010_000,
+          0b0__000_000_011__100_010_000,
+          0b0__000_000_011__101_010_000,
+        };
+    var log = MoveLog.EMPTY;
+    var last = 0L;
+    // Act
+    for (final var board : boards) {
+      log = MoveLog.append(log, last, board);
+      last = board;
+    }
+    // Assert
+    assertEquals(boards.length, MoveLog.size(log));
+    assertEquals(4, MoveLog.bit(log, 0));
+    assertEquals(9, MoveLog.bit(log, 1));
+    assertArrayEquals(boards, MoveLog.states(log));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a board with many pieces placed at once "
+          + "WHEN logging it "
+          + "THEN the pieces are logged by ascending bit index.")
+  void append_manyAtOnce() {
+    // Act
+    final var log = MoveLog.append(MoveLog.EMPTY, 0, 0b0__000_000_101__000_100_000);
+    // Assert
+    assertEquals(
+        List.of(5, 9, 11), List.of(MoveLog.bit(log, 0), MoveLog.bit(log, 1), MoveLog.bit(log, 2)));
+    final var states = MoveLog.states(log);
+    assertEquals(0b0__000_000_101__000_100_000, states[states.length - 1]);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN an empty log "
+          + "WHEN logging more pieces than it holds or a bit it cannot index "
+          + "THEN IllegalArgumentException is thrown.")
+  void append_overflow() {
+    // Act - Assert
+    assertEquals(0, MoveLog.size(MoveLog.EMPTY));
+    assertThrows(IllegalArgumentException.class, () -> MoveLog.append(0, 0, (1L << 13) - 1));
+    assertThrows(IllegalArgumentException.class, () -> MoveLog.append(0, 0, 1L << 31));
+  }
+}
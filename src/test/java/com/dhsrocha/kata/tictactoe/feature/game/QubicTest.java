@@ -0,0 +1,137 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link Qubic} rule set, through {@link Type#QUBIC}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for Qubic rule set.")
+final class QubicTest {
+
+  private static final Type RULE = Type.QUBIC;
+
+  @Test
+  @DisplayName(
+      "GIVEN the cube's precomputed lines "
+          + "WHEN counting them "
+          + "THEN there are 76 distinct ones of 4 tiles each "
+          + "AND 7 of them pass through corners and centers, 4 through the others.")
+  void lines() {
+    // Arrange
+    final var perTile = new int[64];
+    for (final var line : Qubic.LINES) {
+      for (var tiles = line; tiles != 0; tiles &= tiles - 1) {
+        perTile[Long.numberOfTrailingZeros(tiles)]++;
+      }
+    }
+    // Assert
+    assertEquals(76, Qubic.LINES.length);
+    assertEquals(76, Arrays.stream(Qubic.LINES).distinct().count());
+    Arrays.stream(Qubic.LINES).forEach(l -> assertEquals(4, Long.bitCount(l)));
+    assertEquals(7, perTile[0]);
+    assertEquals(7, perTile[63]);
+    assertEquals(7, perTile[1 + 4 + 16]);
+    assertEquals(4, perTile[1]);
+    assertEquals(76 * 4, Arrays.stream(perTile).sum());
+  }
+
+  @ParameterizedTest
+  @MethodSource("boards")
+  @DisplayName(
+      "GIVEN a board with a side on each word "
+          + "WHEN calculating its result "
+          + "THEN return expected result accordingly.")
+  void resultOf(final long away, final long home, final Result expected) {
+    // Arrange
+    final var board = Bitboard.of(away, home);
+    // Act
+    final var actual = RULE.resultOf(board.processWith(board, RULE));
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN invalid boards "
+          + "WHEN validating them "
+          + "THEN return the corresponding exception codes.")
+  void validate() {
+    // Arrange
+    final var empty = Bitboard.of(0);
+    final var overlap = Bitboard.of(1L << 63, 1L << 63);
+    final var third = Bitboard.of(0, 0, 1);
+    // Act - Assert
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND),
+        RULE.validate(empty, Bitboard.of(1, 1L << 1)));
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE), RULE.validate(overlap, overlap));
+    assertEquals(Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS), RULE.validate(empty, third));
+    assertEquals(Optional.empty(), RULE.validate(empty, Bitboard.of(Long.MIN_VALUE)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  @DisplayName(
+      "GIVEN randomly played games "
+          + "WHEN calculating each round only through the newly placed tile "
+          + "THEN return the same result as calculating the whole board.")
+  void incremental_sameAsWholeBoard(final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    var away = 0L;
+    var home = 0L;
+    var last = Bitboard.of(0);
+    var result = Result.NOT_OVER;
+    for (var round = 0; Result.NOT_OVER == result; round++) {
+      final var tile = 1L << random.nextInt(64);
+      if (((away | home) & tile) != 0) {
+        round--;
+        continue;
+      }
+      away |= round % 2 == 0 ? tile : 0;
+      home |= round % 2 == 0 ? 0 : tile;
+      final var current = Bitboard.of(away, home);
+      // Act
+      final var processed = current.processWith(last, RULE);
+      result = RULE.resultOf(last, processed);
+      // Assert
+      assertEquals(RULE.resultOf(processed), result, current.toString());
+      last = current;
+    }
+  }
+
+  private static Stream<Arguments> boards() {
+    return Stream.of(
+        // Row along the x axis.
+        Arguments.of(0xFL, 0x70L, Result.AWAY),
+        // Column along the z axis.
+        Arguments.of(0b1110L, 1L | 1L << 16 | 1L << 32 | 1L << 48, Result.HOME),
+        // Main diagonal of the cube, through the last bit of the away's word.
+        Arguments.of(1L | 1L << 21 | 1L << 42 | 1L << 63, 0b1110L, Result.AWAY),
+        // Three in a row only.
+        Arguments.of(0b0111L, 0b0111L << 4, Result.NOT_OVER),
+        // Wrapping around the x axis is not a line.
+        Arguments.of(0b11L << 2 | 0b11L << 4, 0b11L << 8, Result.NOT_OVER));
+  }
+
+  private static LongStream seeds() {
+    return LongStream.rangeClosed(1, 32);
+  }
+}
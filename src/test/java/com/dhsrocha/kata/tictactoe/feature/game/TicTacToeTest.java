@@ -1,11 +1,17 @@
 package com.dhsrocha.kata.tictactoe.feature.game;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import com.dhsrocha.kata.tictactoe.helper.RandomStubExtension;
 import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
 import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +19,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * Test suite for {@link Type#TIC_TAC_TOE}.
@@ -39,6 +44,62 @@ final class TicTacToeTest implements RandomStubExtension {
     assertEquals(expected, actual);
   }
 
+  @ParameterizedTest
+  @MethodSource("validStubsAndResults")
+  @DisplayName(
+      "GIVEN valid bitboard "
+          + "AND each of its tiles as the last placed one "
+          + "WHEN calculating only the lines through that tile "
+          + "THEN return the same result as calculating the whole board.")
+  void expectedResult_fromLastState(final int state, final Bitboard.Result expected) {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var current = Bitboard.of(state).processWith(Bitboard.of(state), rule);
+    for (var tiles = (long) state; tiles != 0; tiles &= tiles - 1) {
+      final var last = Bitboard.of(state & ~Long.lowestOneBit(tiles));
+      if (last.getState() == 0 || rule.resultOf(last.processWith(last, rule)).isFinished()) {
+        continue;
+      }
+      // Act
+      final var actual = rule.resultOf(last, current);
+      // Assert
+      assertEquals(expected, actual, Long.toBinaryString(last.getState()));
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN every valid bitboard "
+          + "WHEN calculating them all at once with tic-tac-toe rule set "
+          + "THEN fill up the same results as calculating each one.")
+  void resultsOf_sameAsEach() {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var states = LongStream.range(1, 1 << 18).filter(s -> (s >>> 9 & s) == 0).toArray();
+    final var results = new byte[states.length];
+    // Act
+    rule.resultsOf(states, results);
+    // Assert
+    for (var i = 0; i < states.length; i++) {
+      final var board = Bitboard.of(states[i]);
+      final var expected = rule.resultOf(board.processWith(board, rule));
+      assertEquals(expected.ordinal(), results[i], Long.toBinaryString(states[i]));
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN fewer results than bitboards "
+          + "WHEN calculating them all at once with tic-tac-toe rule set "
+          + "THEN IndexOutOfBoundsException is thrown.")
+  void resultsOf_fewerResults() {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var states = new long[] {0b0__000_000_001, 0b0__000_000_010};
+    // Act - Assert
+    assertThrows(IndexOutOfBoundsException.class, () -> rule.resultsOf(states, new byte[1]));
+  }
+
   @ParameterizedTest
   @MethodSource("invalidStubsAndResults")
   @DisplayName(
@@ -51,11 +112,43 @@ final class TicTacToeTest implements RandomStubExtension {
     final var invalid = Bitboard.of(invalidStub);
     // Act
     final var ex =
-        assertThrows(HttpClientErrorException.class, () -> invalid.processWith(invalid, rule));
+        assertThrows(ExceptionCode.Failure.class, () -> invalid.processWith(invalid, rule));
     // Assert
     assertEquals(HttpStatus.BAD_REQUEST.value() + " " + code.name(), ex.getMessage());
   }
 
+  @ParameterizedTest
+  @MethodSource("invalidStubsAndResults")
+  @DisplayName(
+      "GIVEN invalid bitboard "
+          + "WHEN verifying a bitboard with tic-tac-toe rule set "
+          + "THEN return the code it is rejected with, with no exception thrown.")
+  void verify_invalidStub(final int invalidStub, final ExceptionCode code) {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var invalid = Bitboard.of(invalidStub);
+    // Act
+    final var actual = invalid.verify(invalid, rule);
+    // Assert
+    assertEquals(Optional.of(code), actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("validStubsAndResults")
+  @DisplayName(
+      "GIVEN valid bitboard "
+          + "WHEN verifying a bitboard with tic-tac-toe rule set "
+          + "THEN return no code.")
+  void verify_validStub(final int state) {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var valid = Bitboard.of(state);
+    // Act
+    final var actual = valid.verify(valid, rule);
+    // Assert
+    assertEquals(Optional.empty(), actual);
+  }
+
   @Test
   @DisplayName(
       "GIVEN a valid bitboard "
@@ -69,12 +162,62 @@ final class TicTacToeTest implements RandomStubExtension {
     final var last = Bitboard.of(0b0__000_000_001);
     final var current = Bitboard.of(0b0__100_100_100);
     // Act
-    final var ex =
-        assertThrows(HttpClientErrorException.class, () -> current.processWith(last, rule));
+    final var ex = assertThrows(ExceptionCode.Failure.class, () -> current.processWith(last, rule));
     // Assert
     assertEquals(HttpStatus.BAD_REQUEST.value() + " " + code, ex.getMessage());
   }
 
+  @Test
+  @DisplayName(
+      "GIVEN a bitboard with a piece in range and its sign bit set "
+          + "WHEN verifying it with tic-tac-toe rule set "
+          + "THEN return code BITBOARD_EXCESSIVE_BITS.")
+  void verify_negativeStub() {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var invalid = Bitboard.of(Long.MIN_VALUE | 0b0__000_000_001__000_000_000);
+    // Act
+    final var actual = invalid.verify(invalid, rule);
+    // Assert
+    assertEquals(Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS), actual);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN valid bitboards "
+          + "WHEN validating and calculating them repeatedly with tic-tac-toe rule set "
+          + "THEN no heap allocation is performed by the current thread.")
+  void validateAndResultOf_doNotAllocate() {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    final var mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled());
+    final var stubs =
+        validStubsAndResults()
+            .map(a -> Bitboard.of((int) a.get()[0]))
+            .map(b -> b.processWith(b, rule))
+            .toArray(Bitboard.Processed[]::new);
+    final var sink = new long[] {exercise(rule, stubs)};
+    // Act
+    final var before = mx.getCurrentThreadAllocatedBytes();
+    sink[0] += exercise(rule, stubs);
+    final var allocated = mx.getCurrentThreadAllocatedBytes() - before;
+    // Assert
+    assertEquals(0, allocated);
+    assertNotEquals(0, sink[0]);
+  }
+
+  private static long exercise(final Type rule, final Bitboard.Processed... stubs) {
+    var acc = 0L;
+    for (var i = 0; i < 10_000; i++) {
+      for (final var stub : stubs) {
+        acc += rule.validate(stub, stub).isEmpty() ? 1 : 0;
+        acc += rule.resultOf(stub).ordinal();
+      }
+    }
+    return acc;
+  }
+
   private static Stream<Arguments> validStubsAndResults() {
     return Stream.of(
         // Home
@@ -0,0 +1,126 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link TransitionTable}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for TransitionTable class.")
+final class TransitionTableTest {
+
+  private static TransitionTable table;
+
+  @BeforeAll
+  static void setUp() {
+    table = new TransitionTable();
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN the transition table "
+          + "WHEN it is built "
+          + "THEN it indexes every state reachable by either side starting the game.")
+  void reachableStates() {
+    // Assert
+    assertEquals(8533, table.getReachable());
+    assertEquals(512 * 1024, table.footprint());
+  }
+
+  @ParameterizedTest
+  @MethodSource("transitions")
+  @DisplayName(
+      "GIVEN a last and a current bitboard "
+          + "WHEN validating the transition between them "
+          + "THEN return expected verdict accordingly.")
+  void validate(final int last, final int current, final ExceptionCode expected) {
+    // Act
+    final var actual = table.validate(Bitboard.of(last), Bitboard.of(current));
+    // Assert
+    assertEquals(Optional.ofNullable(expected), actual);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN every reachable state "
+          + "WHEN calculating it with the table and with tic-tac-toe rule set "
+          + "THEN both results are the same.")
+  void resultOf_sameAsRuleSet() {
+    // Arrange
+    final var rule = Type.TIC_TAC_TOE;
+    var compared = 0;
+    for (var state = 1; state < 1 << 18; state++) {
+      final var board = Bitboard.of(state);
+      if (table.validate(board, board).equals(Optional.of(ExceptionCode.BITBOARD_EXCESSIVE_BITS))
+          || ((state & state >>> 9 & 0x1FF) != 0)) {
+        continue;
+      }
+      // Act
+      final var processed = board.processWith(board, rule);
+      // Assert
+      assertEquals(rule.resultOf(processed), table.resultOf(processed));
+      compared++;
+    }
+    assertTrue(compared > 0);
+  }
+
+  private static Stream<Arguments> transitions() {
+    return Stream.of(
+        // Legal: any side may start and then they alternate.
+        Arguments.of(0b0__000_000_000__000_000_000, 0b0__000_010_000__000_000_000, null),
+        Arguments.of(0b0__000_000_000__000_000_000, 0b0__000_000_000__000_010_000, null),
+        Arguments.of(0b0__000_010_000__000_000_000, 0b0__000_010_000__100_000_000, null),
+        Arguments.of(0b0__001_010_000__100_000_000, 0b0__001_010_000__100_000_001, null),
+        // Same side playing twice in a row ends up in an unreachable state.
+        Arguments.of(
+            0b0__000_010_000__000_000_000,
+            0b0__100_010_000__000_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS),
+        // No piece placed.
+        Arguments.of(
+            0b0__000_010_000__100_000_000,
+            0b0__000_010_000__100_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND),
+        // Piece moved around instead of placed.
+        Arguments.of(
+            0b0__000_010_000__100_000_000,
+            0b0__000_001_000__100_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND),
+        // Two pieces placed at once.
+        Arguments.of(
+            0b0__000_000_000__000_000_000,
+            0b0__000_010_000__100_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND),
+        // Playing on an already finished game.
+        Arguments.of(
+            0b0__111_000_000__000_011_000,
+            0b0__111_000_000__000_011_001,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS_PER_ROUND),
+        // Unreachable and malformed states.
+        Arguments.of(
+            0b0__000_000_000__000_000_000,
+            0b0__111_000_000__000_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS),
+        Arguments.of(
+            0b0__000_000_000__000_000_000,
+            0b1__000_000_000__000_000_000,
+            ExceptionCode.BITBOARD_EXCESSIVE_BITS),
+        Arguments.of(
+            0b0__000_000_000__000_000_000,
+            0b0__100_000_000__100_000_000,
+            ExceptionCode.BITBOARD_PIECE_IN_SAME_TILE));
+  }
+}
@@ -0,0 +1,211 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark suite for {@link Type}'s rule sets. Run it with {@code ./mvnw -Pwith-benchmark}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeBenchmark {
+
+  /** Winning states, as walked by the loop-based calculation. */
+  private static final long[] WIN_STATES = {
+    0b0__111_000_000,
+    0b0__000_111_000,
+    0b0__000_000_111,
+    0b0__100_100_100,
+    0b0__010_010_010,
+    0b0__001_001_001,
+    0b0__100_010_001,
+    0b0__001_010_100
+  };
+
+  /** Boards per batch, so each invocation is reported as that many operations. */
+  private static final int BATCH = 4096;
+
+  private Bitboard.Processed[] states;
+  private Bitboard invalidLast;
+  private Bitboard invalid;
+  private long[] batch;
+  private byte[] results;
+  private Bitboard gomokuLast;
+  private Bitboard.Processed gomoku;
+  private Bitboard connectFourLast;
+  private Bitboard.Processed connectFour;
+  private Bitboard ultimateLast;
+  private Bitboard.Processed ultimate;
+
+  @Setup
+  public void setup() {
+    final var rule = Type.TIC_TAC_TOE;
+    final var raw =
+        new long[] {
+          0b0__100_010_001__010_001_010,
+          0b0__000_011_101__111_100_010,
+          0b0__010_011_100__101_100_011,
+          0b0__001_010_010__000_100_101,
+          0b0__000_000_011__000_000_100,
+          0b0__010_110_001__100_001_110,
+        };
+    states = new Bitboard.Processed[raw.length];
+    for (var i = 0; i < raw.length; i++) {
+      states[i] = Bitboard.of(raw[i]).processWith(Bitboard.of(raw[i]), rule);
+    }
+    // Two pieces placed in a single round.
+    invalidLast = Bitboard.of(0b0__000_000_001);
+    invalid = Bitboard.of(0b0__100_100_001);
+    batch = new long[BATCH];
+    results = new byte[BATCH];
+    for (var i = 0; i < BATCH; i++) {
+      batch[i] = raw[i % raw.length];
+    }
+    // Mid-game gomoku board, spanning every word, with no line yet.
+    final var words = new long[8];
+    for (var tile = 0; tile < 225; tile += 7) {
+      final var bit = tile % 2 == 0 ? tile : 225 + tile;
+      words[bit / 64] |= 1L << bit;
+    }
+    gomokuLast = Bitboard.of(words[0], Arrays.copyOfRange(words, 1, words.length));
+    words[0] |= 1L << 1;
+    gomoku =
+        Bitboard.of(words[0], Arrays.copyOfRange(words, 1, words.length))
+            .processWith(gomokuLast, Type.GOMOKU);
+    // Connect four board, with away's piece dropped on top of home's column.
+    connectFourLast = Bitboard.of(0b0__0000011__0000000 | 0b0__0000111L << 49);
+    connectFour =
+        Bitboard.of(0b0__0000011__0001000 | 0b0__0000111L << 49)
+            .processWith(connectFourLast, Type.CONNECT_FOUR);
+    // Ultimate board, with away's piece sending to the centre sub-board and home's piece placed
+    // on it, sending to the top left one.
+    ultimateLast = Bitboard.of(1L << 4, 0, 5L << 162 - 128);
+    ultimate =
+        Bitboard.of(1L << 4, 1L << 81 + 4 * 9 - 64, 1L << 162 - 128)
+            .processWith(ultimateLast, Type.ULTIMATE);
+  }
+
+  /** Result calculation through precomputed {@link Bitboard.WinTable win tables}. */
+  @Benchmark
+  public void resultOfByTable(final Blackhole bh) {
+    for (final var state : states) {
+      bh.consume(Type.TIC_TAC_TOE.resultOf(state));
+    }
+  }
+
+  /** Result calculation of a whole batch of boards, per board. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void resultsOfBatch(final Blackhole bh) {
+    Type.TIC_TAC_TOE.resultsOf(batch, results);
+    bh.consume(results);
+  }
+
+  /** Result calculation of the same batch, validating one board at a time, per board. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void resultsOfEach(final Blackhole bh) {
+    for (final var state : batch) {
+      final var board = Bitboard.of(state);
+      bh.consume(Type.TIC_TAC_TOE.resultOf(board.processWith(board, Type.TIC_TAC_TOE)));
+    }
+  }
+
+  /** Verification of a valid board, with no exception involved. */
+  @Benchmark
+  public void verifyValid(final Blackhole bh) {
+    for (final var state : states) {
+      bh.consume(state.verify(state, Type.TIC_TAC_TOE));
+    }
+  }
+
+  /** Verification of an invalid board, returning its code with no exception thrown. */
+  @Benchmark
+  public void verifyInvalid(final Blackhole bh) {
+    bh.consume(invalid.verify(invalidLast, Type.TIC_TAC_TOE));
+  }
+
+  /** Processing of an invalid board, catching the exception it throws. */
+  @Benchmark
+  public void processInvalid(final Blackhole bh) {
+    try {
+      bh.consume(invalid.processWith(invalidLast, Type.TIC_TAC_TOE));
+    } catch (final RuntimeException e) {
+      bh.consume(e);
+    }
+  }
+
+  /** Gomoku's validation and whole board calculation through shift-and-AND line detection. */
+  @Benchmark
+  public void gomokuWholeBoard(final Blackhole bh) {
+    bh.consume(Type.GOMOKU.validate(gomokuLast, gomoku));
+    bh.consume(Type.GOMOKU.resultOf(gomoku));
+  }
+
+  /** Gomoku's validation and calculation of the lines through the newly placed tile only. */
+  @Benchmark
+  public void gomokuPlacedTile(final Blackhole bh) {
+    bh.consume(Type.GOMOKU.validate(gomokuLast, gomoku));
+    bh.consume(Type.GOMOKU.resultOf(gomokuLast, gomoku));
+  }
+
+  /** Connect four's validation and calculation of the moving side's lines. */
+  @Benchmark
+  public void connectFour(final Blackhole bh) {
+    bh.consume(Type.CONNECT_FOUR.validate(connectFourLast, connectFour));
+    bh.consume(Type.CONNECT_FOUR.resultOf(connectFourLast, connectFour));
+  }
+
+  /** Ultimate's validation of the forced sub-board and calculation through the placed piece. */
+  @Benchmark
+  public void ultimate(final Blackhole bh) {
+    bh.consume(Type.ULTIMATE.validate(ultimateLast, ultimate));
+    bh.consume(Type.ULTIMATE.resultOf(ultimateLast, ultimate));
+  }
+
+  /** Result calculation by walking every winning state for both sides. */
+  @Benchmark
+  public void resultOfByLoop(final Blackhole bh) {
+    for (final var state : states) {
+      bh.consume(loop(state.getState()));
+    }
+  }
+
+  private static Result loop(final long state) {
+    final var rounds = Long.bitCount(state);
+    if (rounds < 5) {
+      return Result.NOT_OVER;
+    }
+    final var home = state >>> 9 & 0x1FF;
+    final var away = state & 0x1FF;
+    for (final var win : WIN_STATES) {
+      if (win == (win & home)) {
+        return Result.HOME;
+      }
+      if (win == (win & away)) {
+        return Result.AWAY;
+      }
+    }
+    return rounds == 9 ? Result.TIE : Result.NOT_OVER;
+  }
+}
@@ -0,0 +1,146 @@
+package com.dhsrocha.kata.tictactoe.feature.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.dhsrocha.kata.tictactoe.system.ExceptionCode;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import com.dhsrocha.kata.tictactoe.vo.Bitboard.Result;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link Ultimate} rule set, through {@link Type#ULTIMATE}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for ultimate tic-tac-toe rule set.")
+final class UltimateTest {
+
+  private static final Type RULE = Type.ULTIMATE;
+  private static final int TILES = 81;
+  private static final int FORCED = 162;
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  @DisplayName(
+      "GIVEN randomly played games, following the forced sub-boards "
+          + "WHEN validating and calculating each round "
+          + "THEN every round is legal "
+          + "AND the result from the placed piece is the same as the whole board's.")
+  void randomGames(final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    final var pieces = new boolean[2 * TILES];
+    var last = Bitboard.of(0);
+    var forced = -1;
+    var result = Result.NOT_OVER;
+    for (var round = 0; Result.NOT_OVER == result; round++) {
+      final var side = round % 2;
+      int tile;
+      do {
+        final var sub = forced >= 0 ? forced : random.nextInt(9);
+        tile = sub * 9 + random.nextInt(9);
+      } while (pieces[tile] || pieces[TILES + tile] || isClosed(pieces, tile / 9));
+      pieces[side * TILES + tile] = true;
+      forced = isClosed(pieces, tile % 9) ? -1 : tile % 9;
+      final var current = boardOf(pieces, forced);
+      // Act
+      final var verdict = RULE.validate(last, current);
+      final var processed = current.processWith(last, RULE);
+      result = RULE.resultOf(last, processed);
+      // Assert
+      assertEquals(Optional.empty(), verdict);
+      assertEquals(RULE.resultOf(processed), result, current.toString());
+      last = current;
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a side winning three sub-boards in a row "
+          + "WHEN placing the piece closing the last of them "
+          + "THEN that side wins.")
+  void metaBoardWin() {
+    // Arrange
+    final var pieces = new boolean[2 * TILES];
+    for (final var sub : new int[] {0, 4}) {
+      for (final var cell : new int[] {0, 1, 2}) {
+        pieces[TILES + sub * 9 + cell] = true;
+      }
+    }
+    pieces[TILES + 8 * 9] = true;
+    pieces[TILES + 8 * 9 + 1] = true;
+    final var last = boardOf(pieces, 8);
+    pieces[TILES + 8 * 9 + 2] = true;
+    final var current = boardOf(pieces, 2);
+    // Act
+    final var processed = current.processWith(last, RULE);
+    // Assert
+    assertEquals(Result.HOME, RULE.resultOf(last, processed));
+    assertEquals(Result.HOME, RULE.resultOf(processed));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a board forcing the next piece into a sub-board "
+          + "WHEN placing it elsewhere, on a closed sub-board or with a wrong forced field "
+          + "THEN return exception code BITBOARD_WRONG_SUB_BOARD.")
+  void wrongSubBoard() {
+    // Arrange
+    final var pieces = new boolean[2 * TILES];
+    pieces[4 * 9 + 3] = true;
+    final var last = boardOf(pieces, 3);
+    final var elsewhere = pieces.clone();
+    elsewhere[TILES + 5 * 9] = true;
+    final var forcedOnly = pieces.clone();
+    forcedOnly[TILES + 3 * 9 + 5] = true;
+    // Act - Assert
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD),
+        RULE.validate(last, boardOf(elsewhere, 0)));
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD),
+        RULE.validate(last, boardOf(forcedOnly, 4)));
+    assertEquals(Optional.empty(), RULE.validate(last, boardOf(forcedOnly, 5)));
+    // Arrange - sub-board 0 is won by away, so nothing can be placed on it anymore.
+    final var closed = new boolean[2 * TILES];
+    closed[0] = closed[1] = closed[2] = true;
+    final var free = boardOf(closed, -1);
+    final var onClosed = closed.clone();
+    onClosed[TILES + 3] = true;
+    // Act - Assert
+    assertEquals(
+        Optional.of(ExceptionCode.BITBOARD_WRONG_SUB_BOARD),
+        RULE.validate(free, boardOf(onClosed, 3)));
+    assertNotEquals(Optional.empty(), RULE.validate(free, boardOf(closed, 10)));
+  }
+
+  private static LongStream seeds() {
+    return LongStream.rangeClosed(1, 64);
+  }
+
+  private static boolean isClosed(final boolean[] pieces, final int sub) {
+    var away = 0L;
+    var home = 0L;
+    for (var cell = 0; cell < 9; cell++) {
+      away |= pieces[sub * 9 + cell] ? 1L << cell : 0;
+      home |= pieces[TILES + sub * 9 + cell] ? 1L << cell : 0;
+    }
+    return Type.WINS.test(away) || Type.WINS.test(home) || (away | home) == 0x1FF;
+  }
+
+  private static Bitboard boardOf(final boolean[] pieces, final int forced) {
+    final var words = new long[3];
+    for (var bit = 0; bit < pieces.length; bit++) {
+      words[bit / 64] |= pieces[bit] ? 1L << bit : 0;
+    }
+    words[FORCED / 64] |= (long) (forced + 1) << FORCED;
+    return Bitboard.of(words[0], words[1], words[2]);
+  }
+}
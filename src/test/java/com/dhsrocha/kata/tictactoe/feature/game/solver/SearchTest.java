@@ -0,0 +1,205 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link Search}, over a tic-tac-toe board so it can be checked against {@link
+ * Solver}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for time-bounded parallel search.")
+final class SearchTest {
+
+  private static final int TILES = 9;
+  private static final Duration BUDGET = Duration.ofMillis(20);
+  private static final long[] LINES = {
+    0b111_000_000, 0b000_111_000, 0b000_000_111, 0b100_100_100,
+    0b010_010_010, 0b001_001_001, 0b100_010_001, 0b001_010_100,
+  };
+  private static final Bitboard.WinTable WINS = Bitboard.WinTable.of(TILES, LINES);
+  private static final Bitboard.Zobrist KEYS = Bitboard.Zobrist.of(2 * TILES, TILES);
+  private static final Search SEARCH = new Search(2, 12);
+  private static final Search.Rules RULES =
+      new Search.Rules() {
+        @Override
+        public int getTiles() {
+          return TILES;
+        }
+
+        @Override
+        public boolean isCandidate(@NonNull final long[] board, final int tile) {
+          return ((board[0] | board[0] >>> TILES) & 1L << tile) == 0;
+        }
+
+        @Override
+        public boolean isWin(@NonNull final long[] board, final int bit) {
+          return WINS.test(Search.bits(board, bit < TILES ? 0 : TILES, TILES));
+        }
+
+        @Override
+        public int evaluate(@NonNull final long[] board, final int side) {
+          return 0;
+        }
+      };
+
+  @AfterAll
+  static void close() {
+    SEARCH.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource("positions")
+  @DisplayName(
+      "GIVEN a position with a forced move "
+          + "WHEN searching the best move "
+          + "THEN take the immediate win or block the opponent's.")
+  void bestMove(final long away, final long home, final int expected) {
+    // Act
+    final var actual = bestMove(SEARCH, RULES, new long[] {away | home << TILES}, 0, BUDGET).join();
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a full board " //
+          + "WHEN searching the best move "
+          + "THEN there is none.")
+  void fullBoard() {
+    // Act - Assert
+    final var board = new long[] {0b101_110_001__010_001_110};
+    assertEquals(-1, bestMove(SEARCH, RULES, board, 0, BUDGET).join());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN the empty board " //
+          + "WHEN searching the best move "
+          + "THEN answer within the budget.")
+  void withinBudget() {
+    // Arrange
+    final var start = System.nanoTime();
+    // Act
+    final var move = bestMove(SEARCH, RULES, new long[1], 1, BUDGET).join();
+    // Assert
+    final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+    assertTrue(move >= 0 && move < TILES, String.valueOf(move));
+    assertTrue(elapsed.compareTo(BUDGET.multipliedBy(5)) < 0, elapsed.toString());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a search whose only thread is taken by a slower one "
+          + "WHEN searching a position with an immediate win "
+          + "THEN answer the win from the one-ply iteration, before the slower search is over.")
+  void queued() {
+    // Arrange
+    final var slow =
+        new Search.Rules() {
+          @Override
+          public int getTiles() {
+            return TILES;
+          }
+
+          @Override
+          public boolean isCandidate(@NonNull final long[] board, final int tile) {
+            return RULES.isCandidate(board, tile);
+          }
+
+          @Override
+          public boolean isWin(@NonNull final long[] board, final int bit) {
+            return RULES.isWin(board, bit);
+          }
+
+          @Override
+          public int evaluate(@NonNull final long[] board, final int side) {
+            LockSupport.parkNanos(100_000);
+            return 0;
+          }
+        };
+    try (final var search = new Search(1, 8)) {
+      final var busy = bestMove(search, slow, new long[1], 1, Duration.ofSeconds(1));
+      final var start = System.nanoTime();
+      // Act
+      final var move = bestMove(search, RULES, new long[] {0b000_000_011__000_011_000}, 0, BUDGET);
+      // Assert
+      assertEquals(5, move.join());
+      final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+      assertFalse(busy.isDone());
+      assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, elapsed.toString());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  @DisplayName(
+      "GIVEN random moves from an opponent, moving first or second "
+          + "WHEN the search answers each of them "
+          + "THEN the search never loses.")
+  void neverLoses(final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    var search = 0L;
+    var opponent = 0L;
+    var opponentTurn = seed % 2 == 0;
+    while ((search | opponent) != 0x1FF && !WINS.test(search) && !WINS.test(opponent)) {
+      if (opponentTurn) {
+        final var tile = random.nextInt(TILES);
+        if (((search | opponent) & 1L << tile) != 0) {
+          continue;
+        }
+        opponent |= 1L << tile;
+      } else {
+        // Act
+        final var board = new long[] {search | opponent << TILES};
+        search |= 1L << bestMove(SEARCH, RULES, board, 0, BUDGET).join();
+      }
+      opponentTurn = !opponentTurn;
+    }
+    // Assert
+    assertFalse(WINS.test(opponent), Long.toBinaryString(opponent));
+  }
+
+  /** Searches a board from its hash under {@link #KEYS}, as a turn would carry it. */
+  private static CompletableFuture<Integer> bestMove(
+      final Search search,
+      final Search.Rules rules,
+      final long[] board,
+      final int side,
+      final Duration budget) {
+    final var hash = KEYS.hash(Bitboard.of(board[0]));
+    return search.bestMove(rules, KEYS, board, hash, side, budget);
+  }
+
+  private static Stream<Arguments> positions() {
+    return Stream.of(
+        // Completes the top row, instead of blocking the middle one.
+        Arguments.of(0b000_000_011, 0b000_011_000, 2),
+        // Blocks the left column.
+        Arguments.of(0b000_000_010, 0b001_001_000, 0),
+        // Completes the diagonal.
+        Arguments.of(0b000_010_001, 0b000_001_110, 8));
+  }
+
+  private static LongStream seeds() {
+    return LongStream.rangeClosed(1, 20);
+  }
+}
@@ -0,0 +1,118 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test suite for {@link Solver}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for tic-tac-toe solver.")
+final class SolverTest {
+
+  private static final long[] LINES = {
+    0b111_000_000, 0b000_111_000, 0b000_000_111, 0b100_100_100,
+    0b010_010_010, 0b001_001_001, 0b100_010_001, 0b001_010_100,
+  };
+  private static final Solver SOLVER = new Solver(Bitboard.WinTable.of(9, LINES));
+
+  @Test
+  @DisplayName(
+      "GIVEN the empty board "
+          + "WHEN evaluating it "
+          + "THEN it is a draw "
+          + "AND the table holds far fewer positions than all arrangements.")
+  void emptyBoard() {
+    // Act - Assert
+    assertEquals(0, SOLVER.valueOf(0, 0));
+    assertTrue(SOLVER.size() < 19_683 / 8, String.valueOf(SOLVER.size()));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a position out of legal play, with three more pieces on a side "
+          + "WHEN evaluating it "
+          + "THEN it is valued "
+          + "AND the table is left as solved at construction.")
+  void unreachablePosition() {
+    // Arrange
+    final var size = SOLVER.size();
+    // Act
+    final var value = SOLVER.valueOf(0b000_010_101, 0b000_000_010);
+    // Assert
+    assertTrue(value > 0, String.valueOf(value));
+    assertEquals(size, SOLVER.size());
+  }
+
+  @ParameterizedTest
+  @MethodSource("positions")
+  @DisplayName(
+      "GIVEN a position with a forced move "
+          + "WHEN picking the best move "
+          + "THEN take the immediate win or block the opponent's.")
+  void bestMove(final int mover, final int opponent, final int expected) {
+    // Act - Assert
+    assertEquals(expected, SOLVER.bestMove(mover, opponent));
+  }
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  @DisplayName(
+      "GIVEN random moves from an opponent, moving first or second "
+          + "WHEN the solver answers each of them "
+          + "THEN the solver never loses.")
+  void neverLoses(final long seed) {
+    // Arrange
+    final var random = new Random(seed);
+    var solver = 0;
+    var opponent = 0;
+    var opponentTurn = seed % 2 == 0;
+    while ((solver | opponent) != 0x1FF && SOLVER.bestMove(solver, opponent) >= 0) {
+      if (opponentTurn) {
+        final var tile = random.nextInt(9);
+        if (((solver | opponent) & 1 << tile) != 0) {
+          continue;
+        }
+        opponent |= 1 << tile;
+      } else {
+        // Act
+        solver |= 1 << SOLVER.bestMove(solver, opponent);
+      }
+      opponentTurn = !opponentTurn;
+    }
+    // Assert
+    assertFalse(isWin(opponent), Integer.toBinaryString(opponent));
+  }
+
+  private static boolean isWin(final int side) {
+    return LongStream.of(LINES).anyMatch(l -> (l & side) == l);
+  }
+
+  private static Stream<Arguments> positions() {
+    return Stream.of(
+        // Completes the top row, instead of blocking the middle one.
+        Arguments.of(0b000_000_011, 0b000_011_000, 2),
+        // Blocks the left column.
+        Arguments.of(0b000_000_010, 0b001_001_000, 0),
+        // Completes the diagonal.
+        Arguments.of(0b000_010_001, 0b000_001_110, 8),
+        // Game already won.
+        Arguments.of(0b000_000_111, 0b000_011_000, -1));
+  }
+
+  private static LongStream seeds() {
+    return LongStream.rangeClosed(1, 200);
+  }
+}
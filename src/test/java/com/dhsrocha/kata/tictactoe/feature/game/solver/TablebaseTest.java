@@ -0,0 +1,92 @@
+package com.dhsrocha.kata.tictactoe.feature.game.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dhsrocha.kata.tictactoe.vo.Bitboard;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test suite for {@link Tablebase}, checked against the {@link Solver} it is written from.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@DisplayName("Test suite for memory-mapped tic-tac-toe tablebase.")
+final class TablebaseTest {
+
+  private static final long[] LINES = {
+    0b111_000_000, 0b000_111_000, 0b000_000_111, 0b100_100_100,
+    0b010_010_010, 0b001_001_001, 0b100_010_001, 0b001_010_100,
+  };
+  private static final Bitboard.WinTable WINS = Bitboard.WinTable.of(9, LINES);
+
+  @Test
+  @DisplayName(
+      "GIVEN no tablebase file "
+          + "WHEN opening it "
+          + "THEN it is written from the solver "
+          + "AND it answers every position as the solver does.")
+  void open_sameAsSolver(@TempDir final Path dir) {
+    // Arrange
+    final var solver = new Solver(WINS);
+    final var path = dir.resolve("tic-tac-toe.tb");
+    // Act
+    final var tablebase = Tablebase.open(path, () -> new Solver(WINS));
+    // Assert
+    assertTrue(Files.exists(path));
+    for (var mover = 0; mover < 1 << 9; mover++) {
+      for (var opponent = 0; opponent < 1 << 9; opponent++) {
+        if ((mover & opponent) != 0 || WINS.test(mover)) {
+          continue;
+        }
+        final var position = mover + "/" + opponent;
+        final var value = solver.valueOf(mover, opponent);
+        assertEquals(value, tablebase.valueOf(mover, opponent), position);
+        final var tile = tablebase.bestMove(mover, opponent);
+        assertEquals(solver.bestMove(mover, opponent) < 0, tile < 0, position);
+        if (tile >= 0) {
+          assertEquals(0, (mover | opponent) & 1 << tile, position);
+          assertEquals(value, -solver.valueOf(opponent, mover | 1 << tile), position);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN an existing tablebase file "
+          + "WHEN opening it again "
+          + "THEN it is mapped with no solver built.")
+  void open_existing(@TempDir final Path dir) {
+    // Arrange
+    final var path = dir.resolve("tic-tac-toe.tb");
+    final var size = Tablebase.open(path, () -> new Solver(WINS)).size();
+    // Act
+    final var reopened =
+        Tablebase.open(
+            path,
+            () -> {
+              throw new AssertionError("Solver built for an existing file.");
+            });
+    // Assert
+    assertEquals(size, reopened.size());
+    assertEquals(0, reopened.valueOf(0, 0));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a file which is not a tablebase "
+          + "WHEN opening it "
+          + "THEN IllegalStateException is thrown.")
+  void open_corrupted(@TempDir final Path dir) throws Exception {
+    // Arrange
+    final var path = Files.write(dir.resolve("tic-tac-toe.tb"), new byte[] {1, 2, 3});
+    // Act - Assert
+    assertThrows(IllegalStateException.class, () -> Tablebase.open(path, () -> new Solver(WINS)));
+  }
+}
@@ -4,6 +4,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -12,11 +13,18 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.dhsrocha.kata.tictactoe.base.BaseRepository;
+import com.dhsrocha.kata.tictactoe.feature.game.Game;
 import com.dhsrocha.kata.tictactoe.feature.player.Player;
 import com.dhsrocha.kata.tictactoe.feature.player.PlayerTest;
 import com.dhsrocha.kata.tictactoe.helper.BaseEndpointTest;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -24,9 +32,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 
 /**
  * Test suite for features related to {@link Turn} domain.
@@ -50,6 +60,7 @@ final class TurnEndpointTest extends BaseEndpointTest {
 
   @Autowired MockMvc mvc;
   @Autowired BaseRepository<Player> playerRepository;
+  @Autowired EntityManagerFactory entityManagerFactory;
 
   @Nested
   @DisplayName("GET '" + BASE + "'")
@@ -109,6 +120,7 @@ final class TurnEndpointTest extends BaseEndpointTest {
           .andExpect(content().contentType(APPLICATION_JSON))
           .andExpect(jsonPath("$.game.id", is(game.toString())))
           .andExpect(jsonPath("$.player.id", is(opener.toString())))
+          .andExpect(jsonPath("$.seq", is(1)))
           .andExpect(jsonPath("$.id", is(notNullValue(UUID.class))))
           .andExpect(jsonPath("$.externalId").doesNotExist())
           .andExpect(jsonPath("$.createdAt", is(notNullValue(OffsetDateTime.class))))
@@ -118,6 +130,7 @@ final class TurnEndpointTest extends BaseEndpointTest {
           .andExpect(content().contentType(APPLICATION_JSON))
           .andExpect(jsonPath("$.game.id", is(game.toString())))
           .andExpect(jsonPath("$.player.id", is(joiner.toString())))
+          .andExpect(jsonPath("$.seq", is(2)))
           .andExpect(jsonPath("$.id", is(notNullValue(UUID.class))))
           .andExpect(jsonPath("$.externalId").doesNotExist())
           .andExpect(jsonPath("$.createdAt", is(notNullValue(OffsetDateTime.class))))
@@ -128,13 +141,40 @@ final class TurnEndpointTest extends BaseEndpointTest {
   @Nested
   @DisplayName("POST '" + BASE + "'")
   class Create {
+    @Test
+    @DisplayName(
+        "GIVEN in progress game with a turn "
+            + "WHEN creating the next turn "
+            + "THEN the game and its players are read by a single query "
+            + "AND the turn and the game are written in a single flush.")
+    void givenInProgressGame_whenCreate_thenSingleQuery_andSingleFlush() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      turn(opener, game, 0b0__000_010_000__000_000_000).andExpect(status().isCreated());
+      final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.setStatisticsEnabled(true);
+      statistics.clear();
+      // Act
+      turn(joiner, game, 0b0__000_010_000__000_000_001).andExpect(status().isCreated());
+      // Assert
+      assertEquals(1, statistics.getQueryExecutionCount());
+      assertEquals(0, statistics.getEntityFetchCount());
+      assertEquals(1, statistics.getEntityInsertCount());
+      assertEquals(1, statistics.getEntityUpdateCount());
+      assertEquals(1, statistics.getFlushCount());
+    }
+
     @Test
     @DisplayName(
         "GIVEN in progress game "
             + "AND away bitboard as winning one "
             + "WHEN creating a turn "
             + "THEN return status HTTP 204 "
-            + "AND away as winner for the sending game.")
+            + "AND away as winner for the sending game "
+            + "AND no turn left for it.")
     void givenInProgressGame_andHomeWinningBitboard_whenCreate_thenReturnHomeAsWinnerForGame()
         throws Exception {
       // Arrange
@@ -144,11 +184,56 @@ final class TurnEndpointTest extends BaseEndpointTest {
       final var game = idFrom(res);
       join(joiner, game).andExpect(status().isNoContent());
       // Act
+      turn(opener, game, 0b0_000_001_000__000_000_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0_000_001_000__001_000_000).andExpect(status().isCreated());
+      turn(opener, game, 0b0_000_101_000__001_000_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0_000_101_000__101_000_000).andExpect(status().isCreated());
       turn(opener, game, 0b0_000_101_010__101_000_000).andExpect(status().isCreated());
       turn(joiner, game, 0b0_000_101_010__111_000_000).andExpect(status().isNoContent());
       fromLocation(res)
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.winner.id", is(joiner.toString())));
+      mvc.perform(withAdmin(get(BASE))).andExpect(jsonPath("$.page.totalElements", is(0)));
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN in progress game "
+            + "AND home one piece away from winning "
+            + "WHEN creating its winning turn twice at once "
+            + "THEN return status HTTP 204 for one of them "
+            + "AND status HTTP 409 for the other one.")
+    void givenInProgressGame_whenCreateWinTurnTwiceAtOnce_thenOnlyOneIsAccepted() throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+      turn(opener, game, 0b0__000_000_011__000_001_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0__000_000_011__000_011_000).andExpect(status().isCreated());
+      final var start = new CountDownLatch(1);
+      final Callable<Integer> win =
+          () -> {
+            start.await();
+            final var res = turn(opener, game, 0b0__000_000_111__000_011_000);
+            return res.andReturn().getResponse().getStatus();
+          };
+      final var pool = Executors.newFixedThreadPool(2);
+      try {
+        final var first = pool.submit(win);
+        final var second = pool.submit(win);
+        // Act
+        start.countDown();
+        final var statuses = List.of(first.get(), second.get());
+        // Assert
+        assertEquals(
+            List.of(HttpStatus.NO_CONTENT.value(), HttpStatus.CONFLICT.value()),
+            statuses.stream().sorted().toList());
+      } finally {
+        pool.shutdown();
+      }
     }
 
     @Test
@@ -167,6 +252,44 @@ final class TurnEndpointTest extends BaseEndpointTest {
       notOverTurn(opener, UUID.randomUUID()).andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName(
+        "GIVEN in progress game "
+            + "WHEN creating its first turn off the board "
+            + "THEN return exception with code BITBOARD_EXCESSIVE_BITS "
+            + "AND the game still takes a legal first turn.")
+    void givenInProgressGame_whenCreateFirstTurnOffBoard_thenReturn400_BITBOARD_EXCESSIVE_BITS()
+        throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      // Act - Assert
+      turn(opener, game, 1 << 30).andExpect(status().isBadRequest());
+      notOverTurn(opener, game).andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN in progress game "
+            + "WHEN creating its first turn with pieces overlapping or more than one piece "
+            + "THEN return exception with code BITBOARD_EXCESSIVE_BITS_PER_ROUND "
+            + "AND the game keeps an empty board for the next turns.")
+    void givenInProgressGame_whenCreateFirstTurnOverFull_thenReturn400_andBoardIsNotKept()
+        throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      // Act - Assert
+      turn(opener, game, 0b0__000_000_001__000_000_001).andExpect(status().isBadRequest());
+      turn(opener, game, 0b0__000_000_011__000_000_000).andExpect(status().isBadRequest());
+      turn(opener, game, 0b0__000_000_001__000_000_000).andExpect(status().isCreated());
+      turn(joiner, game, 0b0__000_000_001__000_001_000).andExpect(status().isCreated());
+    }
+
     @Test
     @DisplayName(
         "GIVEN in progress game "
@@ -284,6 +407,67 @@ final class TurnEndpointTest extends BaseEndpointTest {
     }
   }
 
+  @Nested
+  @DisplayName("POST '" + BASE + '/' + TurnController.MOVE + "'")
+  class Move {
+    @Test
+    @DisplayName(
+        "GIVEN in progress game "
+            + "AND home's tiles completing the top row "
+            + "WHEN moving on them in turns "
+            + "THEN return status HTTP 201 for each but the last "
+            + "AND status HTTP 204 for the last one "
+            + "AND home as winner for the sending game "
+            + "AND every piece logged in order.")
+    void givenInProgressGame_andHomeWinningTiles_whenMove_thenReturnHomeAsWinnerForGame()
+        throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var res = game(opener);
+      final var game = idFrom(res);
+      join(joiner, game).andExpect(status().isNoContent());
+      // Act
+      move(opener, game, 0).andExpect(status().isCreated());
+      move(joiner, game, 3).andExpect(status().isCreated());
+      move(opener, game, 1).andExpect(status().isCreated());
+      move(joiner, game, 4).andExpect(status().isCreated());
+      move(opener, game, 2).andExpect(status().isNoContent());
+      // Assert
+      fromLocation(res)
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.winner.id", is(opener.toString())))
+          .andExpect(jsonPath("$.moves", is(10 | 4 << 5 | 11 << 10 | 5 << 15 | 12 << 20)));
+    }
+
+    @Test
+    @DisplayName(
+        "GIVEN in progress game "
+            + "AND a tile taken by the opener "
+            + "WHEN moving on it or off the board "
+            + "THEN return exception with code BITBOARD_TILE_UNAVAILABLE.")
+    void givenInProgressGame_andTakenTile_whenMove_thenReturn400_BITBOARD_TILE_UNAVAILABLE()
+        throws Exception {
+      // Arrange
+      final var opener = player().getExternalId();
+      final var joiner = player().getExternalId();
+      final var game = idFrom(game(opener));
+      join(joiner, game).andExpect(status().isNoContent());
+      move(opener, game, 4).andExpect(status().isCreated());
+      // Act - Assert
+      move(joiner, game, 4).andExpect(status().isBadRequest());
+      move(joiner, game, 9).andExpect(status().isBadRequest());
+      move(joiner, game, 5).andExpect(status().isCreated());
+    }
+
+    private ResultActions move(final UUID player, final UUID game, final int tile)
+        throws Exception {
+      final var req = withAuth(player, post(BASE + '/' + TurnController.MOVE));
+      return mvc.perform(
+          req.queryParam(Game.ID, game.toString()).queryParam("tile", String.valueOf(tile)));
+    }
+  }
+
   @Test
   @DisplayName(
       "GIVEN anonymous user authentication in header "
@@ -295,10 +479,12 @@ final class TurnEndpointTest extends BaseEndpointTest {
     final var all = get(BASE);
     final var one = get(BASE + '/' + '{' + Turn.ID + '}', UUID.randomUUID());
     final var create = post(BASE);
+    final var move = post(BASE + '/' + TurnController.MOVE);
     // Act - Assert
     mvc.perform(all).andExpect(status().isUnauthorized());
     mvc.perform(one).andExpect(status().isUnauthorized());
     mvc.perform(create).andExpect(status().isUnauthorized());
+    mvc.perform(move).andExpect(status().isUnauthorized());
   }
 
   private Player player() {
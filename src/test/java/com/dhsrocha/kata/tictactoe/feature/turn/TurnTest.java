@@ -36,7 +36,8 @@ public final class TurnTest implements RandomStubExtension {
     final var last =
         Turn.builder().game(game).player(PlayerTest.validStub()).state(BitboardTest.validStub());
     return Turn.builder()
-        .last(last.build())
+        .last(last.seq(1).build())
+        .seq(2)
         .player(PlayerTest.validStub())
         .game(game)
         .state(BitboardTest.validStub())
@@ -0,0 +1,52 @@
+package com.dhsrocha.kata.tictactoe.system;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Benchmark suite for {@link ExceptionCode}'s 4xx path, from the check up to the handled error. Run
+ * it with {@code ./mvnw -Pwith-benchmark -Dbenchmark=ExceptionCodeBenchmark}.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionCodeBenchmark {
+
+  private final ControllerAdvice advice = new ControllerAdvice();
+
+  /** Throws the code's preallocated and stackless {@link ExceptionCode.Failure}. */
+  @Benchmark
+  public void failure(final Blackhole bh) {
+    try {
+      ExceptionCode.GAME_NOT_IN_PROGRESS.unless(bh == null);
+    } catch (final ExceptionCode.Failure ex) {
+      bh.consume(advice.failure(ex));
+    }
+  }
+
+  /** Throws a new {@link HttpClientErrorException}, filled with its stack trace, as it used to. */
+  @Benchmark
+  public void httpClientError(final Blackhole bh) {
+    try {
+      final var code = ExceptionCode.GAME_NOT_IN_PROGRESS;
+      throw new HttpClientErrorException(code.get().getStatus(), code.name());
+    } catch (final HttpClientErrorException ex) {
+      bh.consume(advice.httpClientError(ex));
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.dhsrocha.kata.tictactoe.vo;
 
 import com.dhsrocha.kata.tictactoe.helper.RandomStubExtension;
+import java.util.Random;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,16 +30,158 @@ public final class BitboardTest implements RandomStubExtension {
 
   @Test
   @DisplayName(
-      "GIVEN stub with invalid state " //
-          + "WHEN validating " //
-          + "THEN constraint violation is generated.")
-  void invalidStates() {
+      "GIVEN win table built from a set of lines "
+          + "WHEN testing every side's arrangement "
+          + "THEN it answers the same as checking the lines one by one.")
+  void winTable_answersLikeLines() {
+    // Arrange
+    final var lines = new long[] {0b111_000_000, 0b000_111_000, 0b100_010_001};
+    // Act
+    final var table = Bitboard.WinTable.of(9, lines);
+    // Assert
+    for (var side = 0L; side < 1 << 9; side++) {
+      var expected = false;
+      for (final var line : lines) {
+        expected |= line == (line & side);
+      }
+      Assertions.assertEquals(expected, table.test(side), Long.toBinaryString(side));
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN a number of tiles out of the supported range "
+          + "WHEN building a win table "
+          + "THEN IllegalArgumentException is thrown.")
+  void winTable_unsupportedTiles() {
+    // Act - Assert
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Bitboard.WinTable.of(0));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Bitboard.WinTable.of(17));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN every 3x3 board "
+          + "WHEN reducing it to its canonical orientation "
+          + "THEN all of its orientations share it "
+          + "AND the inverse symmetry takes it back.")
+  void symmetry_canonical() {
+    for (var state = 0L; state < 1 << 18; state++) {
+      // Act
+      final var symmetry = Bitboard.Symmetry.of(state);
+      final var canonical = symmetry.apply(state);
+      // Assert
+      Assertions.assertEquals(state, symmetry.inverse().apply(canonical));
+      for (final var other : Bitboard.Symmetry.values()) {
+        final var image = other.apply(state);
+        Assertions.assertTrue(canonical <= image, Long.toBinaryString(state));
+        Assertions.assertEquals(canonical, Bitboard.of(image).canonical().getState());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN every symmetry "
+          + "WHEN transforming single tiles "
+          + "THEN the board, side and tile transforms agree "
+          + "AND bits past the board are kept.")
+  void symmetry_tiles() {
+    for (final var symmetry : Bitboard.Symmetry.values()) {
+      for (var tile = 0; tile < 9; tile++) {
+        // Act
+        final var image = symmetry.tile(tile);
+        // Assert
+        Assertions.assertEquals(1 << image, symmetry.side(1 << tile));
+        final var board = symmetry.apply(1L << tile + 9 | 1L << 40);
+        Assertions.assertEquals(1L << image + 9 | 1L << 40, board);
+        Assertions.assertEquals(tile, symmetry.inverse().tile(image));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN Zobrist keys for a multi-word board "
+          + "WHEN placing pieces one by one "
+          + "THEN the incremental hash is the same as hashing the whole board "
+          + "AND the same seed gives the same keys.")
+  void zobrist_incremental() {
+    // Arrange
+    final var zobrist = Bitboard.Zobrist.of(166, 42);
+    final var random = new Random(42);
+    final var words = new long[3];
+    var board = Bitboard.of(0, 0, 0);
+    var hash = zobrist.hash(board);
+    for (var round = 0; round < 80; round++) {
+      final var bit = random.nextInt(166);
+      words[bit / 64] |= 1L << bit;
+      final var next = Bitboard.of(words[0], words[1], words[2]);
+      // Act
+      hash = zobrist.update(hash, board, next);
+      // Assert
+      Assertions.assertEquals(zobrist.hash(next), hash);
+      board = next;
+    }
+    Assertions.assertEquals(Bitboard.Zobrist.of(166, 42).hash(board), hash);
+    Assertions.assertNotEquals(Bitboard.Zobrist.of(166, 43).hash(board), hash);
+    Assertions.assertEquals(0, Bitboard.Zobrist.NONE.hash(board));
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN multi-word state "
+          + "WHEN reading its bits "
+          + "THEN they are read as a single bit sequence.")
+  void multiWord_bits() {
+    // Arrange
+    final var stub = Bitboard.of(0xF000_0000_0000_0000L, 0b1011L, 0L);
+    // Act - Assert
+    Assertions.assertEquals(3, stub.words());
+    Assertions.assertEquals(0b1011_1111L, stub.bits(60, 8));
+    Assertions.assertEquals(0b101L, stub.bits(65, 64));
+    Assertions.assertEquals(0L, stub.bits(128, 64));
+    Assertions.assertTrue(stub.has(67));
+    Assertions.assertFalse(stub.has(66));
+    Assertions.assertEquals(7, stub.bitCount());
+    Assertions.assertEquals(68, stub.length());
+    Assertions.assertEquals(0, Bitboard.of(0).length());
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN multi-word state "
+          + "WHEN replacing a range of its bits, within a word, across two and past the last "
+          + "THEN only that range is changed.")
+  void multiWord_with() {
+    // Arrange
+    final var stub = Bitboard.of(0xF000_0000_0000_0000L, 0b1011L);
+    // Act
+    final var within = stub.with(1, 1, 1);
+    final var across = stub.with(60, 8, 0b0110_0101L);
+    final var past = stub.with(162, 4, 0b1010L);
+    // Assert
+    Assertions.assertEquals(Bitboard.of(0xF000_0000_0000_0002L, 0b1011L), within);
+    Assertions.assertEquals(Bitboard.of(0x5000_0000_0000_0000L, 0b0110L), across);
+    Assertions.assertEquals(Bitboard.of(0xF000_0000_0000_0000L, 0b1011L, 0b1010L << 34), past);
+    Assertions.assertEquals(Bitboard.of(0xF000_0000_0000_0000L, 0b1011L), stub);
+  }
+
+  @Test
+  @DisplayName(
+      "GIVEN multi-word state "
+          + "WHEN converting it to its column and back "
+          + "THEN the same words are retrieved.")
+  void multiWord_persistence() {
     // Arrange
-    final var invalidStub = Bitboard.of(FAKER.number().numberBetween(Integer.MIN_VALUE, -1));
+    final var converter = new Bitboard.Words();
+    final var words = new long[] {-1L, 0L, Long.MIN_VALUE};
     // Act
-    final var violations = VALIDATOR.getValidator().validate(invalidStub);
+    final var column = converter.convertToDatabaseColumn(words);
     // Assert
-    Assertions.assertFalse(violations.isEmpty());
+    Assertions.assertArrayEquals(words, converter.convertToEntityAttribute(column));
+    Assertions.assertNull(converter.convertToDatabaseColumn(new long[0]));
+    Assertions.assertEquals(0, converter.convertToEntityAttribute(null).length);
   }
 
   public static Bitboard validStub() {